@@ -1,29 +1,51 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusBatchRequestDto;
+import ru.practicum.shareit.booking.dto.BookingStatusBatchResultDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
-
-
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @Validated
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final Logger log = LoggerFactory.getLogger(BookingController.class);
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -36,6 +58,17 @@ public class BookingController {
         return booking;
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid BookingRequestDto> bookingRequestDtos,
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Пакетное создание {} бронирований пользователем {}", bookingRequestDtos.size(), userId);
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookingRequestDtos, userId);
+        log.info("Пакетное создание бронирований завершено: создано {} из {}",
+                results.stream().filter(result -> result.getBooking() != null).count(), results.size());
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto updateBookingStatus(
             @PathVariable @Positive Long bookingId,
@@ -48,6 +81,18 @@ public class BookingController {
         return booking;
     }
 
+    @PatchMapping("/batch")
+    public BookingStatusBatchResultDto updateBookingStatuses(
+            @RequestBody @Valid BookingStatusBatchRequestDto request,
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Пакетное обновление статуса {} бронирований пользователем {}: {}",
+                request.getBookingIds().size(), userId, request.getApproved() ? "APPROVED" : "REJECTED");
+        BookingStatusBatchResultDto result = bookingService.updateBookingStatuses(
+                request.getBookingIds(), request.getApproved(), userId);
+        log.info("Статус обновлен у бронирований {}, пропущены {}", result.getUpdated(), result.getSkipped());
+        return result;
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBookingById(
             @PathVariable @Positive Long bookingId,
@@ -59,22 +104,87 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getUserBookings(
+    public ResponseEntity<List<BookingResponseDto>> getUserBookings(
             @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) Integer size,
             @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
-        log.info("Получение бронирований пользователя {} с состоянием {}", userId, state);
-        List<BookingResponseDto> bookings = bookingService.getUserBookings(userId, state);
-        log.info("Найдено {} бронирований", bookings.size());
-        return bookings;
+        log.info("Получение бронирований пользователя {} с состоянием {}, from={}, after={}, size={}",
+                userId, state, from, after, size);
+        BookingPageDto page = bookingService.getUserBookings(userId, state, from, after, size);
+        log.info("Найдено {} бронирований", page.getBookings().size());
+        return toResponse(page);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getOwnerBookings(
+    public ResponseEntity<List<BookingResponseDto>> getOwnerBookings(
             @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) Integer size,
             @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
-        log.info("Получение бронирований владельца {} с состоянием {}", userId, state);
-        List<BookingResponseDto> bookings = bookingService.getOwnerBookings(userId, state);
-        log.info("Найдено {} бронирований для владельца", bookings.size());
-        return bookings;
+        log.info("Получение бронирований владельца {} с состоянием {}, from={}, after={}, size={}",
+                userId, state, from, after, size);
+        BookingPageDto page = bookingService.getOwnerBookings(userId, state, from, after, size);
+        log.info("Найдено {} бронирований для владельца", page.getBookings().size());
+        return toResponse(page);
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Подписка владельца {} на события бронирований, Last-Event-ID={}", userId, lastEventId);
+        return bookingService.subscribeOwner(userId, lastEventId);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserBookings(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Выгрузка бронирований пользователя {} с состоянием {}", userId, state);
+        BookingPageDto firstPage = bookingService.getUserBookings(userId, state, 0, null, EXPORT_PAGE_SIZE);
+        return toNdjson(firstPage, cursor -> bookingService.getUserBookings(userId, state, 0, cursor, EXPORT_PAGE_SIZE));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Выгрузка бронирований владельца {} с состоянием {}", userId, state);
+        BookingPageDto firstPage = bookingService.getOwnerBookings(userId, state, 0, null, EXPORT_PAGE_SIZE);
+        return toNdjson(firstPage, cursor -> bookingService.getOwnerBookings(userId, state, 0, cursor, EXPORT_PAGE_SIZE));
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
+    }
+
+    private ResponseEntity<StreamingResponseBody> toNdjson(BookingPageDto firstPage,
+                                                           Function<String, BookingPageDto> nextPage) {
+        StreamingResponseBody body = out -> {
+            BookingPageDto page = firstPage;
+            writeNdjson(out, page);
+            while (page.getNextCursor() != null) {
+                page = nextPage.apply(page.getNextCursor());
+                writeNdjson(out, page);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeNdjson(OutputStream out, BookingPageDto page) throws IOException {
+        for (BookingResponseDto booking : page.getBookings()) {
+            out.write(objectMapper.writeValueAsBytes(booking));
+            out.write('\n');
+        }
+        out.flush();
     }
 }
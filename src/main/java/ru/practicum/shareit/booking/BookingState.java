@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+public enum BookingState {
+    ALL,
+    CURRENT,
+    PAST,
+    FUTURE,
+    WAITING,
+    APPROVED,
+    REJECTED,
+    CANCELED;
+
+    public static BookingState from(String state) {
+        try {
+            return valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Неизвестный параметр state: " + state);
+        }
+    }
+}
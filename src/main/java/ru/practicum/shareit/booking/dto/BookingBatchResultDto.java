@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private int index;
+    private int status;
+    private BookingResponseDto booking;
+    private String error;
+}
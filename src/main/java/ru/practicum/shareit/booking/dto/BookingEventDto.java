@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventDto {
+    private Long id;
+    private Long itemId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+}
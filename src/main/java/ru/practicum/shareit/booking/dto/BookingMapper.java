@@ -3,9 +3,15 @@ package ru.practicum.shareit.booking.dto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import java.util.List;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BookingMapper {
     public static BookingResponseDto toBookingResponseDto(Booking booking) {
@@ -18,4 +24,58 @@ public class BookingMapper {
                 ItemMapper.toItemDto(booking.getItem())
         );
     }
+
+    public static BookingEventDto toBookingEventDto(Booking booking) {
+        return new BookingEventDto(
+                booking.getId(),
+                booking.getItem().getId(),
+                booking.getBooker().getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingEventDto toBookingEventDto(BookingOwnerView booking, BookingStatus status) {
+        return new BookingEventDto(
+                booking.getId(),
+                booking.getItemId(),
+                booking.getBookerId(),
+                booking.getStart(),
+                booking.getEnd(),
+                status
+        );
+    }
+
+    public static BookingResponseDto toBookingResponseDto(Booking booking, UserDto booker, ItemDto item) {
+        return new BookingResponseDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                booker,
+                item
+        );
+    }
+
+    public static BookingResponseDto toBookingResponseDto(BookingRow booking, List<CommentDto> itemComments) {
+        return new BookingResponseDto(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                new UserDto(booking.getBookerId(), booking.getBookerName(), booking.getBookerEmail()),
+                new ItemDto(booking.getItemId(), booking.getItemName(), booking.getItemDescription(),
+                        booking.getItemAvailable(), booking.getItemRequestId(), itemComments, null, null)
+        );
+    }
+
+    public static BookingShortDto toBookingShortDto(BookingShortView booking) {
+        return new BookingShortDto(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStart(),
+                booking.getEnd()
+        );
+    }
 }
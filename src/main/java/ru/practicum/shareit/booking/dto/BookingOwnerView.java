@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingOwnerView extends BookingPeriodView {
+    Long getId();
+
+    Long getOwnerId();
+
+    Long getBookerId();
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDto {
+    private List<BookingResponseDto> bookings;
+
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingRow {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Long bookerId;
+    private String bookerName;
+    private String bookerEmail;
+    private Long itemId;
+    private String itemName;
+    private String itemDescription;
+    private Boolean itemAvailable;
+    private Long itemRequestId;
+    private Long itemOwnerId;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.Set;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusBatchRequestDto {
+    @NotEmpty
+    @Size(max = 500)
+    private Set<@NotNull @Positive Long> bookingIds;
+
+    @NotNull
+    private Boolean approved;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusBatchResultDto {
+    private BookingStatus status;
+    private List<Long> updated;
+    private List<Long> skipped;
+}
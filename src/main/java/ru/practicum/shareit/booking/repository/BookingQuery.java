@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingQuery {
+    private BookingRole role;
+    private Long userId;
+    private BookingState state;
+    private LocalDateTime now;
+    private BookingCursor after;
+    private int offset;
+    private int limit;
+}
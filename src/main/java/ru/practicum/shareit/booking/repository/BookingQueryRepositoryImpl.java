@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Все состояния и обе роли строятся одним запросом: неиспользуемые границы
+ * интервала и курсора заполняются крайними значениями, а список статусов всегда
+ * одной длины, поэтому текст SQL зависит только от роли.
+ */
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final List<BookingStatus> ALL_STATUSES = Arrays.asList(BookingStatus.values());
+
+    private final EntityManager entityManager;
+
+    public BookingQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookingRow> findBookings(BookingQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingRow> criteria = cb.createQuery(BookingRow.class);
+        Root<Booking> booking = criteria.from(Booking.class);
+        Join<Booking, User> booker = booking.join("booker");
+        Join<Booking, Item> item = booking.join("item");
+        Path<Long> id = booking.get("id");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+
+        LocalDateTime startAfter = MIN_TIME;
+        LocalDateTime startBefore = MAX_TIME;
+        LocalDateTime endAfter = MIN_TIME;
+        LocalDateTime endBefore = MAX_TIME;
+        List<BookingStatus> statuses = ALL_STATUSES;
+        LocalDateTime now = query.getNow();
+
+        switch (query.getState()) {
+            case CURRENT:
+                startBefore = now;
+                endAfter = now;
+                break;
+            case PAST:
+                endBefore = now;
+                break;
+            case FUTURE:
+                startAfter = now;
+                break;
+            case WAITING:
+            case APPROVED:
+            case REJECTED:
+            case CANCELED:
+                statuses = Collections.nCopies(ALL_STATUSES.size(),
+                        BookingStatus.valueOf(query.getState().name()));
+                break;
+            default:
+                break;
+        }
+
+        LocalDateTime cursorStart = query.getAfter() != null ? query.getAfter().getStart() : MAX_TIME;
+        Long cursorId = query.getAfter() != null ? query.getAfter().getId() : Long.MAX_VALUE;
+
+        Predicate byRole = query.getRole() == BookingRole.BOOKER
+                ? cb.equal(booker.get("id"), query.getUserId())
+                : cb.equal(item.get("owner").get("id"), query.getUserId());
+
+        criteria.select(cb.construct(BookingRow.class,
+                        id, start, end, booking.get("status"),
+                        booker.get("id"), booker.get("name"), booker.get("email"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id"), item.get("owner").get("id")))
+                .where(byRole,
+                        booking.get("status").in(statuses),
+                        cb.greaterThan(start, startAfter),
+                        cb.lessThan(start, startBefore),
+                        cb.greaterThan(end, endAfter),
+                        cb.lessThan(end, endBefore),
+                        cb.or(cb.lessThan(start, cursorStart),
+                                cb.and(cb.equal(start, cursorStart), cb.lessThan(id, cursorId))))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        TypedQuery<BookingRow> typedQuery = entityManager.createQuery(criteria)
+                .setMaxResults(query.getLimit());
+        if (query.getOffset() > 0) {
+            typedQuery.setFirstResult(query.getOffset());
+        }
+        return typedQuery.getResultList();
+    }
+}
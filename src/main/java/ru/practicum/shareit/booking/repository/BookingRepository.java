@@ -1,51 +1,83 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingOwnerView;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    @EntityGraph(attributePaths = {"booker", "item"})
+    Optional<Booking> findWithBookerAndItemById(Long id);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(
-            Long bookerId, LocalDateTime end);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(
-            Long bookerId, BookingStatus status);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(
-            Long ownerId, LocalDateTime end);
-
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(
-            Long ownerId, LocalDateTime start);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
-            Long ownerId, BookingStatus status);
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingRow(b.id, b.start, b.end, b.status, " +
+            "bk.id, bk.name, bk.email, i.id, i.name, i.description, i.available, i.request.id, i.owner.id) " +
+            "FROM bookings b JOIN b.booker bk JOIN b.item i WHERE b.id = :bookingId")
+    Optional<BookingRow> findRowById(@Param("bookingId") Long bookingId);
 
     List<Booking> findByBookerIdAndItemIdAndStatusAndEndBefore(
             Long userId, Long itemId, BookingStatus bookingStatus, LocalDateTime time);
 
+    @Query(value = "SELECT r.id AS id, r.item_id AS itemId, r.booker_id AS bookerId, " +
+            "r.start_date AS start, r.end_date AS \"end\", r.past AS past " +
+            "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "b.start_date < :now AS past, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date < :now " +
+            "ORDER BY CASE WHEN b.start_date < :now THEN b.start_date END DESC, b.start_date ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED') r " +
+            "WHERE r.rn = 1", nativeQuery = true)
+    List<BookingShortView> findLastAndNextApprovedByItemIds(
+            @Param("itemIds") Collection<Long> itemIds, @Param("now") LocalDateTime now);
+
     Optional<Booking> findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(
             Long itemId, LocalDateTime now, BookingStatus status);
 
     Optional<Booking> findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
             Long itemId, LocalDateTime now, BookingStatus status);
 
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+            Long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfterAndIdNot(
+            Long itemId, BookingStatus status, LocalDateTime end, LocalDateTime start, Long bookingId);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS start, b.end AS end FROM bookings b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start < :end AND b.end > :start")
+    List<BookingPeriodView> findPeriodsByItemIdsAndStatus(@Param("itemIds") Collection<Long> itemIds,
+                                                          @Param("status") BookingStatus status,
+                                                          @Param("start") LocalDateTime start,
+                                                          @Param("end") LocalDateTime end);
+
+    @Query("SELECT b.id AS id, i.id AS itemId, i.owner.id AS ownerId, b.booker.id AS bookerId, " +
+            "b.start AS start, b.end AS end " +
+            "FROM bookings b JOIN b.item i WHERE b.id IN :bookingIds")
+    List<BookingOwnerView> findOwnerViewsByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM bookings b WHERE b.id IN :bookingIds AND b.status = :status")
+    List<Long> lockIdsByIdInAndStatus(@Param("bookingIds") Collection<Long> bookingIds,
+                                      @Param("status") BookingStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE bookings b SET b.status = :status WHERE b.id IN :bookingIds AND b.status = :expected")
+    int updateStatusByIdIn(@Param("bookingIds") Collection<Long> bookingIds,
+                           @Param("expected") BookingStatus expected,
+                           @Param("status") BookingStatus status);
+
     boolean existsByBookerIdAndItemIdAndEndBefore(
             Long bookerId, Long itemId, LocalDateTime now);
 }
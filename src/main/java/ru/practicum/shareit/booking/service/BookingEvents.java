@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingEventDto;
+import ru.practicum.shareit.common.event.EventBus;
+
+import java.time.Duration;
+
+/**
+ * События жизненного цикла бронирований для владельцев вещей: created при создании
+ * бронирования и status при подтверждении или отклонении. Владелец получает только
+ * события по своим вещам.
+ */
+@Component
+public class BookingEvents implements MeterBinder {
+    static final String CREATED_EVENT = "created";
+    static final String STATUS_EVENT = "status";
+
+    private final EventBus bus;
+    private final long timeoutMillis;
+
+    public BookingEvents(@Value("${shareit.events.bookings.queue-size:256}") int queueSize,
+                         @Value("${shareit.events.bookings.history-size:4096}") int historySize,
+                         @Value("${shareit.events.timeout:10m}") Duration timeout) {
+        this.bus = new EventBus("bookings", queueSize, historySize);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribeOwner(Long ownerId, Long lastEventId) {
+        return bus.subscribe(ownerId, timeoutMillis, lastEventId);
+    }
+
+    public void publishCreated(BookingEventDto booking, Long ownerId) {
+        bus.publishAfterCommit(CREATED_EVENT, ownerId, booking);
+    }
+
+    public void publishStatusChanged(BookingEventDto booking, Long ownerId) {
+        bus.publishAfterCommit(STATUS_EVENT, ownerId, booking);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bus.bindTo(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        bus.close();
+    }
+}
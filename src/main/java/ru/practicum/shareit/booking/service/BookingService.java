@@ -1,24 +1,39 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.dto.BookingStatusBatchResultDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface BookingService {
     BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long userId);
 
+    List<BookingBatchResultDto> createBookings(List<BookingRequestDto> bookingRequestDtos, Long userId);
+
     BookingResponseDto updateBookingStatus(Long bookingId, Boolean approved, Long userId);
 
+    BookingStatusBatchResultDto updateBookingStatuses(Set<Long> bookingIds, Boolean approved, Long userId);
+
     BookingResponseDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingResponseDto> getUserBookings(Long userId, String state);
+    BookingPageDto getUserBookings(Long userId, String state, Integer from, String after, Integer size);
 
-    List<BookingResponseDto> getOwnerBookings(Long userId, String state);
+    BookingPageDto getOwnerBookings(Long userId, String state, Integer from, String after, Integer size);
 
     List<Booking> findByBookerIdAndItemIdAndStatusAndEndBefore(Long userId, Long itemId, BookingStatus bookingStatus, LocalDateTime time);
 
+    List<BookingShortView> findLastAndNextApprovedBookings(Collection<Long> itemIds, LocalDateTime now);
+
+    SseEmitter subscribeOwner(Long userId, Long lastEventId);
+
 }
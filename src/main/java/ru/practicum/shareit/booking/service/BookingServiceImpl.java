@@ -1,73 +1,163 @@
 package ru.practicum.shareit.booking.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingOwnerView;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.dto.BookingStatusBatchResultDto;
+import ru.practicum.shareit.booking.repository.BookingQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 public class BookingServiceImpl implements BookingService {
+    // Отдельный таймер: у списков бронирований есть теги role и state, которых нет у остальных методов
+    private static final String BOOKING_SEARCH_TIMER = "shareit.bookings.search";
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final CommentRepository commentRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ItemDetailCache itemDetailCache;
+    private final BookingEvents bookingEvents;
 
-    public BookingServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository, UserRepository userRepository) {
+    public BookingServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository,
+                              UserService userService, CommentRepository commentRepository,
+                              ItemBookingLocks itemBookingLocks, ItemDetailCache itemDetailCache,
+                              BookingEvents bookingEvents) {
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.commentRepository = commentRepository;
+        this.itemBookingLocks = itemBookingLocks;
+        this.itemDetailCache = itemDetailCache;
+        this.bookingEvents = bookingEvents;
     }
 
     @Override
     @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto, Long userId) {
 
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь", userId));
+        User booker = UserMapper.toUser(userService.getUserById(userId));
 
         Item item = itemRepository.findById(bookingRequestDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Предмет", bookingRequestDto.getItemId()));
 
-        if (!item.getAvailable()) {
-            throw new ValidationException("Предмет недоступен для бронирования");
-        }
+        checkBookingAllowed(bookingRequestDto, item, userId);
 
-        if (item.getOwner().getId().equals(userId)) {
-            throw new ValidationException("Владелец не может забронировать свою вещь");
+        itemBookingLocks.lockUntilCompletion(item.getId());
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), BookingStatus.APPROVED,
+                bookingRequestDto.getEnd(), bookingRequestDto.getStart())) {
+            throw new ConflictException("Предмет уже забронирован на указанный период");
         }
 
-        if (bookingRequestDto.getStart().isAfter(bookingRequestDto.getEnd())) {
-            throw new ValidationException("Дата начала не может быть позже даты окончания");
+        Booking savedBooking = bookingRepository.save(newBooking(bookingRequestDto, item, booker));
+        bookingEvents.publishCreated(BookingMapper.toBookingEventDto(savedBooking), item.getOwner().getId());
+        return BookingMapper.toBookingResponseDto(savedBooking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createBookings(List<BookingRequestDto> bookingRequestDtos, Long userId) {
+        UserDto bookerDto = userService.getUserById(userId);
+        User booker = UserMapper.toUser(bookerDto);
+
+        List<Long> itemIds = bookingRequestDtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .distinct()
+                .collect(Collectors.toList());
+        itemBookingLocks.lockAllUntilCompletion(itemIds);
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookingPeriodView>> approvedPeriods = findApprovedPeriods(itemIds, bookingRequestDtos);
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        Map<BookingBatchResultDto, Booking> createdBookings = new LinkedHashMap<>();
+        for (int i = 0; i < bookingRequestDtos.size(); i++) {
+            BookingRequestDto bookingRequestDto = bookingRequestDtos.get(i);
+            BookingBatchResultDto result = new BookingBatchResultDto(i, HttpStatus.CREATED.value(), null, null);
+            results.add(result);
+            try {
+                Item item = itemsById.get(bookingRequestDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Предмет", bookingRequestDto.getItemId());
+                }
+                checkBookingAllowed(bookingRequestDto, item, userId);
+                if (overlaps(approvedPeriods.getOrDefault(item.getId(), Collections.emptyList()), bookingRequestDto)) {
+                    throw new ConflictException("Предмет уже забронирован на указанный период");
+                }
+                createdBookings.put(result, newBooking(bookingRequestDto, item, booker));
+            } catch (NotFoundException e) {
+                result.setStatus(HttpStatus.NOT_FOUND.value());
+                result.setError(e.getMessage());
+            } catch (ValidationException e) {
+                result.setStatus(HttpStatus.BAD_REQUEST.value());
+                result.setError(e.getMessage());
+            } catch (ConflictException e) {
+                result.setStatus(HttpStatus.CONFLICT.value());
+                result.setError(e.getMessage());
+            }
         }
 
-        Booking booking = new Booking();
-        booking.setStart(bookingRequestDto.getStart());
-        booking.setEnd(bookingRequestDto.getEnd());
-        booking.setItem(item);
-        booking.setBooker(booker);
-        booking.setStatus(BookingStatus.WAITING);
+        bookingRepository.saveAll(createdBookings.values());
+        createdBookings.values().forEach(booking -> bookingEvents.publishCreated(
+                BookingMapper.toBookingEventDto(booking), booking.getItem().getOwner().getId()));
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return BookingMapper.toBookingResponseDto(savedBooking);
+        Map<Long, ItemDto> itemDtos = findCreatedItemDtos(createdBookings.values());
+        createdBookings.forEach((result, booking) -> result.setBooking(BookingMapper.toBookingResponseDto(
+                booking, bookerDto, itemDtos.get(booking.getItem().getId()))));
+        return results;
     }
 
     @Override
     @Transactional
     public BookingResponseDto updateBookingStatus(Long bookingId, Boolean approved, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithBookerAndItemById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование", bookingId));
 
         if (!booking.getItem().getOwner().getId().equals(userId)) {
@@ -78,101 +168,101 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Нельзя изменить статус уже обработанного бронирования");
         }
 
+        if (approved) {
+            itemBookingLocks.lockUntilCompletion(booking.getItem().getId());
+            if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfterAndIdNot(booking.getItem().getId(),
+                    BookingStatus.APPROVED, booking.getEnd(), booking.getStart(), booking.getId())) {
+                throw new ConflictException("Предмет уже забронирован на указанный период");
+            }
+        }
+
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         Booking savedBooking = bookingRepository.save(booking);
+        itemDetailCache.evictAfterCompletion(booking.getItem().getId());
+        bookingEvents.publishStatusChanged(BookingMapper.toBookingEventDto(savedBooking), userId);
         return BookingMapper.toBookingResponseDto(savedBooking);
     }
 
     @Override
+    @Transactional
+    public BookingStatusBatchResultDto updateBookingStatuses(Set<Long> bookingIds, Boolean approved, Long userId) {
+        List<BookingOwnerView> bookings = bookingRepository.findOwnerViewsByIdIn(bookingIds);
+        if (bookings.size() < bookingIds.size()) {
+            Set<Long> foundIds = bookings.stream().map(BookingOwnerView::getId).collect(Collectors.toSet());
+            Long missingId = bookingIds.stream().filter(id -> !foundIds.contains(id)).findFirst().orElseThrow();
+            throw new NotFoundException("Бронирование", missingId);
+        }
+        if (bookings.stream().anyMatch(booking -> !booking.getOwnerId().equals(userId))) {
+            throw new ValidationException("Только владелец может изменить статус бронирования");
+        }
+
+        Set<Long> itemIds = bookings.stream().map(BookingOwnerView::getItemId).collect(Collectors.toSet());
+        if (approved) {
+            itemBookingLocks.lockAllUntilCompletion(itemIds);
+        }
+        Set<Long> waitingIds = new HashSet<>(bookingRepository.lockIdsByIdInAndStatus(bookingIds, BookingStatus.WAITING));
+        List<BookingOwnerView> waiting = bookings.stream()
+                .filter(booking -> waitingIds.contains(booking.getId()))
+                .collect(Collectors.toList());
+        List<Long> updated = approved ? selectApprovable(waiting) : waiting.stream()
+                .map(BookingOwnerView::getId)
+                .collect(Collectors.toList());
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Set<Long> updatedIds = new HashSet<>(updated);
+        if (!updated.isEmpty()) {
+            int count = bookingRepository.updateStatusByIdIn(updated, BookingStatus.WAITING, status);
+            if (count != updated.size()) {
+                throw new ConflictException("Статус части бронирований изменился во время обработки, повторите запрос");
+            }
+            itemIds.forEach(itemDetailCache::evictAfterCompletion);
+            waiting.stream()
+                    .filter(booking -> updatedIds.contains(booking.getId()))
+                    .forEach(booking -> bookingEvents.publishStatusChanged(
+                            BookingMapper.toBookingEventDto(booking, status), userId));
+        }
+
+        List<Long> skipped = bookingIds.stream()
+                .filter(id -> !updatedIds.contains(id))
+                .sorted()
+                .collect(Collectors.toList());
+        Collections.sort(updated);
+        return new BookingStatusBatchResultDto(status, updated, skipped);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BookingResponseDto getBookingById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingRow booking = bookingRepository.findRowById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование", bookingId));
 
-        if (!booking.getBooker().getId().equals(userId) &&
-                !booking.getItem().getOwner().getId().equals(userId)) {
+        if (!booking.getBookerId().equals(userId) &&
+                !booking.getItemOwnerId().equals(userId)) {
             throw new ValidationException("Нет доступа к данному бронированию");
         }
 
-        return BookingMapper.toBookingResponseDto(booking);
+        List<CommentDto> comments = commentRepository.findByItemIdOrderByCreatedDesc(booking.getItemId()).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList());
+        return BookingMapper.toBookingResponseDto(booking, comments);
     }
 
     @Override
-    public List<BookingResponseDto> getUserBookings(Long userId, String state) {
-
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь", userId));
-
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED);
-                break;
-            default:
-                throw new ValidationException("Неизвестный параметр state: " + state);
-        }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Timed(value = BOOKING_SEARCH_TIMER, extraTags = {"role", "BOOKER"})
+    public BookingPageDto getUserBookings(Long userId,
+                                          @MeterTag(key = "state", resolver = BookingStateTagResolver.class) String state,
+                                          Integer from, String after, Integer size) {
+        return findBookings(BookingRole.BOOKER, userId, state, from, after, size);
     }
 
     @Override
-    public List<BookingResponseDto> getOwnerBookings(Long userId, String state) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь", userId));
-
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-
-        switch (state.toUpperCase()) {
-            case "ALL":
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        userId, now, now);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.WAITING);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
-                        userId, BookingStatus.REJECTED);
-                break;
-            default:
-                throw new ValidationException("Неизвестный параметр state: " + state);
-        }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Timed(value = BOOKING_SEARCH_TIMER, extraTags = {"role", "OWNER"})
+    public BookingPageDto getOwnerBookings(Long userId,
+                                           @MeterTag(key = "state", resolver = BookingStateTagResolver.class) String state,
+                                           Integer from, String after, Integer size) {
+        return findBookings(BookingRole.OWNER, userId, state, from, after, size);
     }
 
     @Override
@@ -180,5 +270,146 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findByBookerIdAndItemIdAndStatusAndEndBefore(
                 userId, itemId, bookingStatus, time);
     }
-}
 
+    @Override
+    public List<BookingShortView> findLastAndNextApprovedBookings(Collection<Long> itemIds, LocalDateTime now) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return bookingRepository.findLastAndNextApprovedByItemIds(itemIds, now);
+    }
+
+    @Override
+    public SseEmitter subscribeOwner(Long userId, Long lastEventId) {
+        userService.getUserById(userId);
+        return bookingEvents.subscribeOwner(userId, lastEventId);
+    }
+
+    private void checkBookingAllowed(BookingRequestDto bookingRequestDto, Item item, Long userId) {
+        if (!item.getAvailable()) {
+            throw new ValidationException("Предмет недоступен для бронирования");
+        }
+
+        if (item.getOwner().getId().equals(userId)) {
+            throw new ValidationException("Владелец не может забронировать свою вещь");
+        }
+
+        if (bookingRequestDto.getStart().isAfter(bookingRequestDto.getEnd())) {
+            throw new ValidationException("Дата начала не может быть позже даты окончания");
+        }
+    }
+
+    private Booking newBooking(BookingRequestDto bookingRequestDto, Item item, User booker) {
+        Booking booking = new Booking();
+        booking.setStart(bookingRequestDto.getStart());
+        booking.setEnd(bookingRequestDto.getEnd());
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private Map<Long, List<BookingPeriodView>> findApprovedPeriods(List<Long> itemIds,
+                                                                   List<BookingRequestDto> bookingRequestDtos) {
+        LocalDateTime start = bookingRequestDtos.stream()
+                .map(BookingRequestDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookingRequestDtos.stream()
+                .map(BookingRequestDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        return bookingRepository.findPeriodsByItemIdsAndStatus(itemIds, BookingStatus.APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(BookingPeriodView::getItemId));
+    }
+
+    /**
+     * Подтверждает бронирования в порядке начала, пропуская те, что пересекаются с уже
+     * подтверждёнными или с выбранными ранее в этом же пакете.
+     */
+    private List<Long> selectApprovable(List<BookingOwnerView> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDateTime start = bookings.stream().map(BookingOwnerView::getStart).min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookings.stream().map(BookingOwnerView::getEnd).max(Comparator.naturalOrder())
+                .orElseThrow();
+        Set<Long> itemIds = bookings.stream().map(BookingOwnerView::getItemId).collect(Collectors.toSet());
+        Map<Long, List<BookingPeriodView>> approvedPeriods = bookingRepository
+                .findPeriodsByItemIdsAndStatus(itemIds, BookingStatus.APPROVED, start, end).stream()
+                .collect(Collectors.groupingBy(BookingPeriodView::getItemId, Collectors.toCollection(ArrayList::new)));
+
+        List<Long> approvable = new ArrayList<>();
+        bookings.stream()
+                .sorted(Comparator.comparing(BookingOwnerView::getStart).thenComparing(BookingOwnerView::getId))
+                .forEach(booking -> {
+                    List<BookingPeriodView> periods = approvedPeriods.computeIfAbsent(booking.getItemId(),
+                            itemId -> new ArrayList<>());
+                    if (periods.stream().noneMatch(period -> period.getStart().isBefore(booking.getEnd())
+                            && period.getEnd().isAfter(booking.getStart()))) {
+                        periods.add(booking);
+                        approvable.add(booking.getId());
+                    }
+                });
+        return approvable;
+    }
+
+    private static boolean overlaps(List<BookingPeriodView> periods, BookingRequestDto bookingRequestDto) {
+        return periods.stream().anyMatch(period -> period.getStart().isBefore(bookingRequestDto.getEnd())
+                && period.getEnd().isAfter(bookingRequestDto.getStart()));
+    }
+
+    private Map<Long, ItemDto> findCreatedItemDtos(Collection<Booking> bookings) {
+        Map<Long, Item> items = new LinkedHashMap<>();
+        bookings.forEach(booking -> items.putIfAbsent(booking.getItem().getId(), booking.getItem()));
+        if (items.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, List<CommentDto>> comments = CommentMapper.groupByItemId(
+                commentRepository.findByItemIdsOrderByCreatedDesc(new ArrayList<>(items.keySet())));
+        return items.values().stream()
+                .collect(Collectors.toMap(Item::getId, item -> ItemMapper.toItemDto(item,
+                        comments.getOrDefault(item.getId(), Collections.emptyList()))));
+    }
+
+    private BookingPageDto findBookings(BookingRole role, Long userId, String state,
+                                        Integer from, String after, Integer size) {
+        userService.getUserById(userId);
+
+        BookingState bookingState = BookingState.from(state);
+        BookingCursor cursor = after == null || after.isBlank() ? null : BookingCursor.decode(after);
+        int offset = cursor == null && from != null ? from : 0;
+
+        List<BookingRow> rows = bookingRepository.findBookings(new BookingQuery(
+                role, userId, bookingState, LocalDateTime.now(), cursor, offset, size + 1));
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        Map<Long, List<CommentDto>> itemComments = findItemComments(rows);
+        List<BookingResponseDto> bookingDtos = rows.stream()
+                .map(row -> BookingMapper.toBookingResponseDto(row,
+                        itemComments.getOrDefault(row.getItemId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookingRow last = rows.get(rows.size() - 1);
+            nextCursor = new BookingCursor(last.getStart(), last.getId()).encode();
+        }
+        return new BookingPageDto(bookingDtos, nextCursor);
+    }
+
+    private Map<Long, List<CommentDto>> findItemComments(List<BookingRow> bookings) {
+        List<Long> itemIds = bookings.stream()
+                .map(BookingRow::getItemId)
+                .distinct()
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return CommentMapper.groupByItemId(commentRepository.findByItemIdsOrderByCreatedDesc(itemIds));
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.common.annotation.ValueResolver;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Значение тега state: имя состояния из запроса, а для неизвестных значений — UNSUPPORTED,
+ * чтобы произвольные строки от клиента не порождали новые временные ряды.
+ */
+@Component
+public class BookingStateTagResolver implements ValueResolver {
+    private static final String UNSUPPORTED = "UNSUPPORTED";
+
+    @Override
+    public String resolve(Object parameter) {
+        if (parameter == null) {
+            return UNSUPPORTED;
+        }
+        try {
+            return BookingState.from(parameter.toString()).name();
+        } catch (ValidationException e) {
+            return UNSUPPORTED;
+        }
+    }
+}
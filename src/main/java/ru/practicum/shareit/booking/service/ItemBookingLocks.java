@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Набор блокировок по вещам: проверка пересечения бронирований и запись
+ * выполняются под блокировкой, которая снимается после завершения транзакции.
+ */
+@Component
+public class ItemBookingLocks {
+    private final ReentrantLock[] stripes;
+
+    public ItemBookingLocks(@Value("${shareit.booking.lock-stripes:64}") int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Long itemId) {
+        lockAllUntilCompletion(List.of(itemId));
+    }
+
+    /**
+     * Полосы захватываются по возрастанию номера, поэтому транзакции с пересекающимися
+     * наборами вещей не могут заблокировать друг друга.
+     */
+    public void lockAllUntilCompletion(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Блокировка вещи требует активной транзакции");
+        }
+        List<ReentrantLock> locks = new ArrayList<>();
+        itemIds.stream()
+                .map(itemId -> Math.floorMod(itemId.hashCode(), stripes.length))
+                .distinct()
+                .sorted()
+                .forEach(stripe -> {
+                    stripes[stripe].lock();
+                    locks.add(stripes[stripe]);
+                });
+        Collections.reverse(locks);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+}
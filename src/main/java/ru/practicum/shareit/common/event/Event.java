@@ -0,0 +1,17 @@
+package ru.practicum.shareit.common.event;
+
+/**
+ * Событие шины: имя уходит в поле event потока SSE. Ключ используется только для отбора
+ * подписчиков и клиенту не передаётся: адресное событие получают подписчики ключа,
+ * рассылку ({@code broadcast}) — все, кроме подписчиков ключа автора.
+ */
+public record Event(long id, String name, Long key, boolean broadcast, Object data) {
+
+    static Event resync(long id) {
+        return new Event(id, EventBus.RESYNC_EVENT, null, false, id);
+    }
+
+    Event withId(long eventId) {
+        return new Event(eventId, name, key, broadcast, data);
+    }
+}
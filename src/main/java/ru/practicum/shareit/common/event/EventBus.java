@@ -0,0 +1,280 @@
+package ru.practicum.shareit.common.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Внутрипроцессная рассылка событий подписчикам SSE. У каждого подписчика своя ограниченная
+ * очередь: публикация никогда не ждёт клиента. При переполнении очереди медленного клиента
+ * её содержимое заменяется событием resync, как при переподключении после вытесненной истории:
+ * клиент узнаёт о пропуске и перечитывает состояние. Очередь разбирается отдельной виртуальной задачей,
+ * поэтому блокирующая запись в сокет задерживает только своего подписчика.
+ * Подписчики хранятся по ключу (например, владельцу), и адресное событие проходит только
+ * подписчиков своего ключа; рассылка всем, кроме автора, обходит всех подписчиков.
+ * Последние события хранятся в ограниченной истории, по которой переподключившийся клиент
+ * получает пропущенное после своего Last-Event-ID.
+ */
+public class EventBus implements MeterBinder, AutoCloseable {
+    public static final String RESYNC_EVENT = "resync";
+
+    private final Logger log = LoggerFactory.getLogger(EventBus.class);
+
+    private final String name;
+    private final int queueCapacity;
+    private final int historySize;
+    private final ExecutorService sender;
+    private final Map<Long, Set<Subscriber>> subscribersByKey = new ConcurrentHashMap<>();
+    // Блокировка держится только на время выдачи идентификатора, записи в историю и постановки
+    // в очереди подписчиков без ввода-вывода: так подписчик получает события в порядке их
+    // идентификаторов, а воспроизведение истории при подписке не пропускает и не дублирует события
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ArrayDeque<Event> history = new ArrayDeque<>();
+    // История живёт только в памяти процесса. Отсчёт идёт от времени запуска, поэтому после
+    // перезапуска Last-Event-ID, полученный клиентом раньше, меньше первого нового идентификатора,
+    // и клиент получает resync. Если часы сервера переведены назад, старый идентификатор может
+    // попасть в новый диапазон, и пропущенные события потеряются без resync.
+    private long lastEventId = System.currentTimeMillis() * 1000;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public EventBus(String name, int queueCapacity, int historySize) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Размер очереди подписчика должен быть положительным");
+        }
+        if (historySize < 0) {
+            throw new IllegalArgumentException("Размер истории событий не может быть отрицательным");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.historySize = historySize;
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("events-" + name + "-", 0).factory());
+    }
+
+    /**
+     * Подписка на события ключа и рассылки других авторов с необязательным Last-Event-ID.
+     * Если пропущенные события уже вытеснены из истории или выданы до перезапуска,
+     * клиент первым получает событие resync и должен перечитать состояние через REST.
+     */
+    public SseEmitter subscribe(Long key, long timeoutMillis, Long lastSeenEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(key, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+        try {
+            // Без первой записи заголовки ответа не уходят клиенту до первого события
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        publishLock.lock();
+        try {
+            if (lastSeenEventId != null) {
+                replay(subscriber, lastSeenEventId);
+            }
+            subscribersByKey.computeIfAbsent(subscriber.key, ignored -> ConcurrentHashMap.newKeySet())
+                    .add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+        return emitter;
+    }
+
+    /** Событие для подписчиков ключа */
+    public void publish(String eventName, Long key, Object data) {
+        publish(new Event(0, eventName, key, false, data));
+    }
+
+    /** Событие для всех подписчиков, кроме подписчиков ключа автора */
+    public void broadcast(String eventName, Long authorKey, Object data) {
+        publish(new Event(0, eventName, authorKey, true, data));
+    }
+
+    /**
+     * Событие уходит подписчикам только после фиксации транзакции: откаченные изменения
+     * клиенты не увидят.
+     */
+    public void publishAfterCommit(String eventName, Long key, Object data) {
+        afterCommit(() -> publish(eventName, key, data));
+    }
+
+    public void broadcastAfterCommit(String eventName, Long authorKey, Object data) {
+        afterCommit(() -> broadcast(eventName, authorKey, data));
+    }
+
+    private void publish(Event unnumbered) {
+        publishLock.lock();
+        try {
+            Event event = unnumbered.withId(++lastEventId);
+            published.increment();
+            if (historySize > 0) {
+                if (history.size() == historySize) {
+                    history.pollFirst();
+                }
+                history.addLast(event);
+            }
+            if (event.broadcast()) {
+                subscribersByKey.forEach((key, subscribers) -> {
+                    if (!key.equals(event.key())) {
+                        subscribers.forEach(subscriber -> subscriber.offer(event));
+                    }
+                });
+            } else {
+                subscribersByKey.getOrDefault(event.key(), Set.of()).forEach(subscriber -> subscriber.offer(event));
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByKey.computeIfPresent(subscriber.key, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void replay(Subscriber subscriber, long lastSeenEventId) {
+        Event oldest = history.peekFirst();
+        long firstAvailableId = oldest == null ? lastEventId + 1 : oldest.id();
+        if (lastSeenEventId < firstAvailableId - 1 || lastSeenEventId > lastEventId) {
+            subscriber.offer(Event.resync(lastEventId));
+            return;
+        }
+        for (Event event : history) {
+            if (event.id() > lastSeenEventId && subscriber.accepts(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribersByKey.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("events.published", published, LongAdder::sum)
+                .tags("bus", name)
+                .description("Количество опубликованных событий")
+                .register(registry);
+        FunctionCounter.builder("events.dropped", dropped, LongAdder::sum)
+                .tags("bus", name)
+                .description("Количество событий, заменённых событием resync из-за переполнения очереди подписчика")
+                .register(registry);
+        Gauge.builder("events.subscribers", this, EventBus::subscriberCount)
+                .tags("bus", name)
+                .description("Текущее количество подписчиков")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        subscribersByKey.values()
+                .forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribersByKey.clear();
+        sender.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final Long key;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean sending;
+
+        private Subscriber(Long key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private boolean accepts(Event event) {
+            return event.broadcast() != key.equals(event.key());
+        }
+
+        private void offer(Event event) {
+            lock.lock();
+            try {
+                if (queue.size() == queueCapacity) {
+                    // Молча терять события нельзя: клиент получит resync вместо всего, что не успел забрать
+                    dropped.add(queue.size() + 1L);
+                    queue.clear();
+                    queue.addLast(Event.resync(event.id()));
+                } else {
+                    queue.addLast(event);
+                }
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            } finally {
+                lock.unlock();
+            }
+            sender.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                lock.lock();
+                try {
+                    event = queue.pollFirst();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.name())
+                            .data(event.data()));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Подписчик шины {} отключён: {}", name, e.getMessage());
+                    unsubscribe(this);
+                    lock.lock();
+                    try {
+                        queue.clear();
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+/**
+ * Значения тегов из параметров методов, отмеченных {@code @MeterTag}, вычисляют бины
+ * {@link ValueResolver} или выражения SpEL, в которых параметр — корневой объект.
+ * Бюджеты SQL-запросов задаются свойствами shareit.metrics.queries.*.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterTagAnnotationHandler meterTagAnnotationHandler(BeanFactory beanFactory) {
+        ValueExpressionResolver expressionResolver = new SpelValueExpressionResolver();
+        return new MeterTagAnnotationHandler(beanFactory::getBean, type -> expressionResolver);
+    }
+
+    private static class SpelValueExpressionResolver implements ValueExpressionResolver {
+        private final ExpressionParser parser = new SpelExpressionParser();
+        private final EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+
+        @Override
+        public String resolve(String expression, Object parameter) {
+            return parser.parseExpression(expression).getValue(context, parameter, String.class);
+        }
+    }
+}
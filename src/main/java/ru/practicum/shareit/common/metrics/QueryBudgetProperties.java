@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Бюджет SQL-запросов на HTTP-запрос. Ключ в budgets — метод и шаблон пути, например
+ * "GET /bookings/owner"; для остальных эндпоинтов действует defaultBudget. Значение 0
+ * снимает ограничение. В строгом режиме запрос сверх бюджета завершается ошибкой.
+ */
+@ConfigurationProperties(prefix = "shareit.metrics.queries")
+public record QueryBudgetProperties(@DefaultValue("0") int defaultBudget,
+                                    Map<String, Integer> budgets,
+                                    @DefaultValue("false") boolean strict,
+                                    @DefaultValue("500ms") Duration slowQueryThreshold) {
+
+    public QueryBudgetProperties {
+        budgets = budgets == null ? Map.of() : Map.copyOf(budgets);
+    }
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.common.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * SQL-запросы и прочитанные строки одного HTTP-запроса. Объект используется только потоком,
+ * который обрабатывает запрос, поэтому счётчики не синхронизированы. Одинаковые тексты SQL
+ * считаются отдельно: многократно повторённый запрос обычно и есть N+1.
+ */
+public class QueryCounts {
+    private static final int BUDGET_UNRESOLVED = -1;
+
+    private final Supplier<String> endpoint;
+    private final long slowQueryThresholdMillis;
+    private final Map<String, Integer> statementsBySql = new HashMap<>();
+    private String lastStatement;
+    private long statements;
+    private long rows;
+    private long slowQueries;
+    private int budget = BUDGET_UNRESOLVED;
+    private boolean budgetExceeded;
+
+    QueryCounts(Supplier<String> endpoint, long slowQueryThresholdMillis) {
+        this.endpoint = endpoint;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    long statementPrepared(String sql) {
+        statementsBySql.merge(sql, 1, Integer::sum);
+        lastStatement = sql;
+        return ++statements;
+    }
+
+    /**
+     * Учитывает время выполнения последнего подготовленного запроса.
+     * Возвращает true, если запрос оказался медленным.
+     */
+    boolean statementExecuted(long timeMillis) {
+        if (slowQueryThresholdMillis <= 0 || timeMillis < slowQueryThresholdMillis) {
+            return false;
+        }
+        slowQueries++;
+        return true;
+    }
+
+    void rowsFetched(long count) {
+        rows += count;
+    }
+
+    /**
+     * Метод и шаблон пути. Шаблон становится известен только после выбора обработчика,
+     * поэтому значение вычисляется при первом обращении, а не при создании счётчиков.
+     */
+    public String getEndpoint() {
+        return endpoint.get();
+    }
+
+    boolean isBudgetResolved() {
+        return budget != BUDGET_UNRESOLVED;
+    }
+
+    int getBudget() {
+        return budget;
+    }
+
+    void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    void markBudgetExceeded() {
+        budgetExceeded = true;
+    }
+
+    public boolean isBudgetExceeded() {
+        return budgetExceeded;
+    }
+
+    String getLastStatement() {
+        return lastStatement;
+    }
+
+    Map.Entry<String, Integer> mostRepeatedStatement() {
+        return statementsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getSlowQueries() {
+        return slowQueries;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Распределения числа SQL-запросов и прочитанных строк на HTTP-запрос с теми же тегами
+ * method и uri, что и у http.server.requests, а также счётчики запросов сверх бюджета
+ * и медленных SQL-запросов.
+ * Асинхронные ответы (выгрузки NDJSON, потоки SSE) в метрики не попадают: их SQL выполняется
+ * позже в другом потоке, вне отслеживания, и счётчики показали бы только первую страницу.
+ * Бюджет для них действует лишь на синхронную часть обработки до начала асинхронного ответа.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.metrics.queries.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final QueryTracker queryTracker;
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsFilter(QueryTracker queryTracker, MeterRegistry meterRegistry) {
+        this.queryTracker = queryTracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounts counts = queryTracker.begin(() -> request.getMethod() + " " + uri(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queryTracker.end();
+            if (!request.isAsyncStarted()) {
+                record(request, counts);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounts counts) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        summary("shareit.http.sql.statements", "statements", method, uri)
+                .record(counts.getStatements());
+        summary("shareit.http.sql.rows", "rows", method, uri)
+                .record(counts.getRows());
+        if (counts.isBudgetExceeded()) {
+            meterRegistry.counter("shareit.http.sql.budget.exceeded", "method", method, "uri", uri).increment();
+        }
+        if (counts.getSlowQueries() > 0) {
+            meterRegistry.counter("shareit.http.sql.slow", "method", method, "uri", uri)
+                    .increment(counts.getSlowQueries());
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+
+    private DistributionSummary summary(String name, String unit, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+    }
+}
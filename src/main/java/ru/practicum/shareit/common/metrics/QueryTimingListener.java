@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.hibernate.SessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время выполнения SQL-запросов сессии Hibernate. Hibernate создаёт слушатель на каждую сессию
+ * по имени класса, поэтому счётчики берутся из {@link QueryTracker#current()}. Медленные запросы
+ * вне отслеживаемого HTTP-запроса не учитываются.
+ */
+public class QueryTimingListener implements SessionEventListener {
+    private static final Logger log = LoggerFactory.getLogger(QueryTimingListener.class);
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        QueryCounts counts = QueryTracker.current();
+        if (counts == null) {
+            return;
+        }
+        long timeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - executionStart);
+        if (counts.statementExecuted(timeMillis)) {
+            log.warn("Медленный запрос ({} мс) в {}: {}", timeMillis, counts.getEndpoint(), counts.getLastStatement());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Подсчёт SQL-запросов и прочитанных строк в пределах HTTP-запроса. Запросы считает
+ * StatementInspector Hibernate, время их выполнения — {@link QueryTimingListener}, строки —
+ * {@link RepositoryRowsAspect}. Вне отслеживаемого запроса, например при заполнении индекса
+ * на старте, ничего не считается.
+ * При превышении бюджета ({@link QueryBudgetProperties}) в лог пишется стек вызова, который
+ * выполнил первый лишний запрос, а в строгом режиме этот запрос завершается ошибкой.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.metrics.queries.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTracker implements StatementInspector, HibernatePropertiesCustomizer {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final String METRICS_PACKAGE = QueryTracker.class.getPackageName() + ".";
+    // Общий для всех экземпляров: слушатель сессии Hibernate создаётся по имени класса, а не бином
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    private final Logger log = LoggerFactory.getLogger(QueryTracker.class);
+    private final QueryBudgetProperties properties;
+
+    public QueryTracker(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    static QueryCounts current() {
+        return CURRENT.get();
+    }
+
+    public QueryCounts begin(Supplier<String> endpoint) {
+        QueryCounts counts = new QueryCounts(endpoint, properties.slowQueryThreshold().toMillis());
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public void end() {
+        QueryCounts counts = CURRENT.get();
+        CURRENT.remove();
+        if (counts != null && counts.isBudgetExceeded()) {
+            log.warn("{}: выполнено {} SQL-запросов при бюджете {}", counts.getEndpoint(), counts.getStatements(),
+                    counts.getBudget());
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounts counts = CURRENT.get();
+        if (counts == null) {
+            return sql;
+        }
+        long statements = counts.statementPrepared(sql);
+        if (!counts.isBudgetResolved()) {
+            counts.setBudget(properties.budgetFor(counts.getEndpoint()));
+        }
+        if (counts.getBudget() > 0 && statements > counts.getBudget() && !counts.isBudgetExceeded()) {
+            counts.markBudgetExceeded();
+            budgetExceeded(counts);
+        }
+        return sql;
+    }
+
+    void rowsFetched(long rows) {
+        QueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.rowsFetched(rows);
+        }
+    }
+
+    private void budgetExceeded(QueryCounts counts) {
+        Map.Entry<String, Integer> repeated = counts.mostRepeatedStatement();
+        QueryBudgetExceededException error = new QueryBudgetExceededException(String.format(
+                "%s: превышен бюджет в %d SQL-запросов; чаще всего (%d раз) выполнялся запрос: %s",
+                counts.getEndpoint(), counts.getBudget(), repeated.getValue(), repeated.getKey()));
+        // В стеке остаются только вызовы приложения: кадры Spring, Hibernate и сервера его не проясняют
+        error.setStackTrace(Arrays.stream(error.getStackTrace())
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(METRICS_PACKAGE))
+                .toArray(StackTraceElement[]::new));
+        if (properties.strict()) {
+            throw error;
+        }
+        log.warn("Запрос сверх бюджета", error);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+    }
+}
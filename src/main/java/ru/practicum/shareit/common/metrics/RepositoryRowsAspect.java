@@ -0,0 +1,48 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Число строк, которые вернули методы чтения репозиториев (find* и lock*) в пределах HTTP-запроса:
+ * размер списка или страницы, одна строка на найденное значение. Сущности, которые Hibernate
+ * дочитывает сам по ленивым связям, сюда не попадают — они видны по числу SQL-запросов.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "shareit.metrics.queries.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryRowsAspect {
+    private final QueryTracker queryTracker;
+
+    public RepositoryRowsAspect(QueryTracker queryTracker) {
+        this.queryTracker = queryTracker;
+    }
+
+    @AfterReturning(pointcut = "this(org.springframework.data.repository.Repository) "
+            + "&& (execution(* find*(..)) || execution(* lock*(..)))", returning = "result")
+    public void rowsReturned(Object result) {
+        queryTracker.rowsFetched(rows(result));
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -1,5 +1,8 @@
 package ru.practicum.shareit.exception;
 
+import lombok.Getter;
+
+@Getter
 public class ErrorResponse {
     private String error;
     private String message;
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,10 @@ import java.util.List;
 @RequestMapping("/items")
 @Validated
 public class ItemController {
+    private static final String DEFAULT_SEARCH_SIZE = "20";
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
     private final Logger log = LoggerFactory.getLogger(ItemController.class);
     private final ItemService itemService;
     private final UserService userService;
@@ -49,9 +55,10 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemById(@PathVariable @Positive Long itemId) {
-        log.info("Получение вещи с ID: {}", itemId);
-        ItemDto item = itemService.getItemById(itemId);
+    public ItemDto getItemById(@PathVariable @Positive Long itemId,
+                               @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId) {
+        log.info("Получение вещи с ID {} пользователем {}", itemId, userId);
+        ItemDto item = itemService.getItemById(itemId, userId);
         log.info("Найдена вещь: {}", item);
         return item;
     }
@@ -66,9 +73,12 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        log.info("Поиск вещей по тексту: '{}'", text);
-        List<ItemDto> foundItems = itemService.searchItems(text);
+    public List<ItemDto> searchItems(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "0") @PositiveOrZero @Max(MAX_SEARCH_OFFSET) Integer from,
+            @RequestParam(defaultValue = DEFAULT_SEARCH_SIZE) @Positive @Max(MAX_SEARCH_SIZE) Integer size) {
+        log.info("Поиск вещей по тексту: '{}', from={}, size={}", text, from, size);
+        List<ItemDto> foundItems = itemService.searchItems(text, from, size);
         log.info("Найдено {} вещей по запросу '{}'", foundItems.size(), text);
         return foundItems;
     }
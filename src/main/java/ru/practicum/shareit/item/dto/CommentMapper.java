@@ -2,6 +2,10 @@ package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class CommentMapper {
 
     public static CommentDto toCommentDto(Comment comment) {
@@ -13,6 +17,15 @@ public class CommentMapper {
         );
     }
 
+    public static CommentDto toCommentDto(CommentView comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
+    }
+
     public static Comment toComment(CommentDto commentDto) {
         Comment comment = new Comment();
         comment.setId(commentDto.getId());
@@ -20,4 +33,12 @@ public class CommentMapper {
         comment.setCreated(commentDto.getCreated());
         return comment;
     }
+
+    /** Группирует отзывы по идентификатору вещи */
+    public static Map<Long, List<CommentDto>> groupByItemId(List<CommentView> comments) {
+        return comments.stream()
+                .collect(Collectors.groupingBy(
+                        CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+    }
 }
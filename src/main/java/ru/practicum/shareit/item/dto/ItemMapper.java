@@ -20,6 +20,10 @@ public class ItemMapper {
                         .collect(Collectors.toList()) :
                 Collections.emptyList();
 
+        return toItemDto(item, commentDtos);
+    }
+
+    public static ItemDto toItemDto(Item item, List<CommentDto> commentDtos) {
         return new ItemDto(
                 item.getId(),
                 item.getName(),
@@ -32,6 +36,19 @@ public class ItemMapper {
         );
     }
 
+    public static ItemDto toItemDto(ItemView item, List<CommentDto> commentDtos) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId(),
+                commentDtos,
+                null,
+                null
+        );
+    }
+
     public static Item toItem(ItemDto itemDto, User owner, ItemRequest request) {
         List<Comment> comments = itemDto.getComments() != null ?
                 itemDto.getComments().stream()
@@ -3,17 +3,22 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String COMMENT_VIEW = "SELECT c.id AS id, c.item.id AS itemId, c.text AS text, " +
+            "c.author.name AS authorName, c.created AS created FROM Comment c ";
 
-    List<Comment> findByItemIdOrderByCreatedDesc(Long itemId);
+    @Query(COMMENT_VIEW + "WHERE c.item.id = :itemId ORDER BY c.created DESC")
+    List<CommentView> findByItemIdOrderByCreatedDesc(@Param("itemId") Long itemId);
 
-    @Query("SELECT c FROM Comment c WHERE c.item.id IN :itemIds ORDER BY c.created DESC")
-    List<Comment> findByItemIdsOrderByCreatedDesc(@Param("itemIds") List<Long> itemIds);
+    @Query(COMMENT_VIEW + "WHERE c.item.id IN :itemIds ORDER BY c.created DESC")
+    List<CommentView> findByItemIdsOrderByCreatedDesc(@Param("itemIds") List<Long> itemIds);
 
-    List<Comment> findByItemOwnerIdOrderByCreatedDesc(Long ownerId);
+    @Query(COMMENT_VIEW + "WHERE c.item.owner.id = :ownerId ORDER BY c.created DESC")
+    List<CommentView> findByItemOwnerIdOrderByCreatedDesc(@Param("ownerId") Long ownerId);
 }
@@ -1,18 +1,43 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_VIEW = "SELECT i.id AS id, i.name AS name, i.description AS description, " +
+            "i.available AS available, i.owner.id AS ownerId, i.request.id AS requestId FROM Item i ";
+
     List<Item> findByOwnerId(Long ownerId);
 
-    @Query("SELECT i FROM Item i " +
+    @Query(ITEM_VIEW + "WHERE i.id = :itemId")
+    Optional<ItemView> findViewById(@Param("itemId") Long itemId);
+
+    @Query(ITEM_VIEW + "WHERE i.id IN :itemIds")
+    List<ItemView> findViewsByIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query(ITEM_VIEW + "WHERE i.request.id IN :requestIds ORDER BY i.id")
+    List<ItemView> findViewsByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query(ITEM_VIEW + "WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<ItemView> findViewsByOwnerId(@Param("ownerId") Long ownerId);
+
+    Slice<Item> findAllBy(Pageable pageable);
+
+    @Query(ITEM_VIEW +
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> findAvailableItemsWithText(@Param("text") String text);
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT(:text, '%')) THEN 0 " +
+            "WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 1 " +
+            "ELSE 2 END, i.id")
+    List<ItemView> findAvailableItemsWithText(@Param("text") String text, Pageable pageable);
 }
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.item.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Инвертированный индекс доступных вещей по словам из названия и описания.
+ * Хранит только идентификаторы, сущности загружаются уже для найденных вещей.
+ */
+@Component
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, long[]> nameIndex = new TreeMap<>();
+    private final NavigableMap<String, long[]> descriptionIndex = new TreeMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            nameIndex.clear();
+            descriptionIndex.clear();
+            indexedItems.clear();
+
+            Pageable pageable = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+            Slice<Item> items;
+            do {
+                items = itemRepository.findAllBy(pageable);
+                items.forEach(item -> apply(toIndexedItem(item)));
+                pageable = items.nextPageable();
+            } while (items.hasNext());
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано {} вещей", indexedItems.size());
+    }
+
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        IndexedItem indexedItem = toIndexedItem(item);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyLocked(indexedItem);
+                }
+            });
+        } else {
+            applyLocked(indexedItem);
+        }
+    }
+
+    /**
+     * Возвращает идентификаторы доступных вещей, в которых каждое слово запроса
+     * является префиксом какого-либо слова. Совпадения по названию идут первыми.
+     */
+    public long[] search(String text) {
+        String[] tokens = tokenize(text);
+        if (tokens.length == 0) {
+            return LongPostings.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] nameMatches = null;
+            long[] allMatches = null;
+            for (String token : tokens) {
+                long[] inName = findByPrefix(nameIndex, token);
+                long[] inNameOrDescription = LongPostings.union(inName, findByPrefix(descriptionIndex, token));
+                nameMatches = nameMatches == null ? inName : LongPostings.intersect(nameMatches, inName);
+                allMatches = allMatches == null
+                        ? inNameOrDescription
+                        : LongPostings.intersect(allMatches, inNameOrDescription);
+            }
+
+            long[] descriptionMatches = LongPostings.difference(allMatches, nameMatches);
+            long[] result = new long[nameMatches.length + descriptionMatches.length];
+            System.arraycopy(nameMatches, 0, result, 0, nameMatches.length);
+            System.arraycopy(descriptionMatches, 0, result, nameMatches.length, descriptionMatches.length);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyLocked(IndexedItem indexedItem) {
+        lock.writeLock().lock();
+        try {
+            apply(indexedItem);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(IndexedItem indexedItem) {
+        IndexedItem previous = indexedItems.remove(indexedItem.id());
+        if (previous != null) {
+            removePostings(nameIndex, previous.nameTokens(), previous.id());
+            removePostings(descriptionIndex, previous.descriptionTokens(), previous.id());
+        }
+        if (indexedItem.available()) {
+            addPostings(nameIndex, indexedItem.nameTokens(), indexedItem.id());
+            addPostings(descriptionIndex, indexedItem.descriptionTokens(), indexedItem.id());
+            indexedItems.put(indexedItem.id(), indexedItem);
+        }
+    }
+
+    private static void addPostings(NavigableMap<String, long[]> index, String[] tokens, long id) {
+        for (String token : tokens) {
+            index.merge(token, new long[]{id}, (postings, ignored) -> LongPostings.insert(postings, id));
+        }
+    }
+
+    private static void removePostings(NavigableMap<String, long[]> index, String[] tokens, long id) {
+        for (String token : tokens) {
+            index.computeIfPresent(token, (ignored, postings) -> {
+                long[] remaining = LongPostings.remove(postings, id);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    private static long[] findByPrefix(NavigableMap<String, long[]> index, String prefix) {
+        return LongPostings.unionAll(
+                new ArrayList<>(index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()));
+    }
+
+    private static IndexedItem toIndexedItem(Item item) {
+        return new IndexedItem(
+                item.getId(),
+                tokenize(item.getName()),
+                tokenize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable())
+        );
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private record IndexedItem(long id, String[] nameTokens, String[] descriptionTokens, boolean available) {
+    }
+}
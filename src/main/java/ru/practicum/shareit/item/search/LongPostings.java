@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LongPostings {
+    static final long[] EMPTY = new long[0];
+
+    static long[] insert(long[] postings, long value) {
+        int index = Arrays.binarySearch(postings, value);
+        if (index >= 0) {
+            return postings;
+        }
+        int position = -index - 1;
+        long[] result = new long[postings.length + 1];
+        System.arraycopy(postings, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(postings, position, result, position + 1, postings.length - position);
+        return result;
+    }
+
+    static long[] remove(long[] postings, long value) {
+        int index = Arrays.binarySearch(postings, value);
+        if (index < 0) {
+            return postings;
+        }
+        long[] result = new long[postings.length - 1];
+        System.arraycopy(postings, 0, result, 0, index);
+        System.arraycopy(postings, index + 1, result, index, postings.length - index - 1);
+        return result;
+    }
+
+    static long[] union(long[] left, long[] right) {
+        long[] result = new long[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                result[size++] = left[i++];
+            } else if (left[i] > right[j]) {
+                result[size++] = right[j++];
+            } else {
+                result[size++] = left[i++];
+                j++;
+            }
+        }
+        while (i < left.length) {
+            result[size++] = left[i++];
+        }
+        while (j < right.length) {
+            result[size++] = right[j++];
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Объединяет отсортированные списки за один проход слиянием через кучу по текущим
+     * головам списков: O(n log k) вместо попарных объединений.
+     */
+    static long[] unionAll(List<long[]> postingLists) {
+        if (postingLists.isEmpty()) {
+            return EMPTY;
+        }
+        if (postingLists.size() == 1) {
+            return postingLists.get(0);
+        }
+        long[][] lists = postingLists.toArray(new long[0][]);
+        int[] positions = new int[lists.length];
+        int[] heap = new int[lists.length];
+        int heapSize = 0;
+        int total = 0;
+        for (int list = 0; list < lists.length; list++) {
+            total += lists[list].length;
+            if (lists[list].length > 0) {
+                heap[heapSize++] = list;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, lists, positions);
+        }
+
+        long[] result = new long[total];
+        int size = 0;
+        while (heapSize > 0) {
+            int list = heap[0];
+            long value = lists[list][positions[list]++];
+            if (size == 0 || result[size - 1] != value) {
+                result[size++] = value;
+            }
+            if (positions[list] == lists[list].length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, lists, positions);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int index, long[][] lists, int[] positions) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && head(heap[left], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = left;
+            }
+            if (right < heapSize && head(heap[right], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            int swapped = heap[index];
+            heap[index] = heap[smallest];
+            heap[smallest] = swapped;
+            index = smallest;
+        }
+    }
+
+    private static long head(int list, long[][] lists, int[] positions) {
+        return lists[list][positions[list]];
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static long[] difference(long[] left, long[] right) {
+        long[] result = new long[left.length];
+        int j = 0;
+        int size = 0;
+        for (long value : left) {
+            while (j < right.length && right[j] < value) {
+                j++;
+            }
+            if (j == right.length || right[j] != value) {
+                result[size++] = value;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Кэш собранных карточек вещей: вещь, комментарии, последнее и следующее бронирование.
+ * Кэш локальный, в Caffeine: карточки хранятся как объекты, а счётчик сбросов, защищающий от
+ * записи устаревших значений, живёт в памяти этого экземпляра, поэтому общий кэш нескольких
+ * экземпляров здесь не подходит. Запись действительна до начала следующего бронирования,
+ * после которого меняются оба бронирования карточки.
+ */
+@Component
+public class ItemDetailCache {
+    public static final String CACHE_NAME = "itemDetails";
+
+    private final Cache cache;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long invalidations;
+
+    public ItemDetailCache(CaffeineCacheManager cacheManager) {
+        Cache itemDetails = cacheManager.getCache(CACHE_NAME);
+        if (itemDetails == null) {
+            throw new IllegalStateException("Кэш " + CACHE_NAME + " не настроен");
+        }
+        this.cache = itemDetails;
+    }
+
+    Optional<ItemDetails> get(Long itemId, LocalDateTime now) {
+        ItemDetails details = cache.get(itemId, ItemDetails.class);
+        if (details == null || details.isExpired(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(details);
+    }
+
+    long stamp() {
+        lock.lock();
+        try {
+            return invalidations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(ItemDetails details, long stamp) {
+        lock.lock();
+        try {
+            if (stamp == invalidations) {
+                cache.put(details.item().getId(), details);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evictAfterCompletion(Long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(itemId);
+                }
+            });
+        } else {
+            evict(itemId);
+        }
+    }
+
+    /**
+     * Сброс всех карточек после удаления или переименования пользователя: его отзывы и
+     * бронирования могут быть в карточках чужих вещей.
+     */
+    public void clearAfterCompletion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            invalidations++;
+            cache.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(Long itemId) {
+        lock.lock();
+        try {
+            invalidations++;
+            cache.evict(itemId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
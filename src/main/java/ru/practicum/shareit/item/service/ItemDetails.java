@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Карточка вещи в том виде, в каком её видит владелец. Остальным пользователям
+ * отдаётся копия без последнего и следующего бронирования.
+ */
+record ItemDetails(Long ownerId, ItemDto item) {
+
+    boolean isExpired(LocalDateTime now) {
+        return item.getNextBooking() != null && !item.getNextBooking().getStart().isAfter(now);
+    }
+
+    ItemDto toItemDto(Long userId) {
+        boolean owner = ownerId.equals(userId);
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId(),
+                new ArrayList<>(item.getComments()),
+                owner ? item.getLastBooking() : null,
+                owner ? item.getNextBooking() : null
+        );
+    }
+}
@@ -11,11 +11,11 @@ public interface ItemService {
 
     ItemDto updateItem(Long itemId, ItemUpdateDto itemUpdateDto, Long ownerId);
 
-    ItemDto getItemById(Long itemId);
+    ItemDto getItemById(Long itemId, Long userId);
 
     List<ItemDto> getAllItemsByOwner(Long ownerId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 }
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortView;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -12,29 +16,48 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.RequestResponseDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final BookingService bookingService;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRequestFeed itemRequestFeed;
 
     public ItemServiceImpl(ItemRepository itemRepository, UserService userService, BookingService bookingService,
-                            CommentRepository commentRepository) {
+                            CommentRepository commentRepository, ItemSearchIndex itemSearchIndex,
+                            ItemDetailCache itemDetailCache, ItemRequestRepository itemRequestRepository,
+                            ItemRequestFeed itemRequestFeed) {
         this.itemRepository = itemRepository;
         this.userService = userService;
         this.bookingService = bookingService;
         this.commentRepository = commentRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemDetailCache = itemDetailCache;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRequestFeed = itemRequestFeed;
     }
 
     @Override
@@ -50,12 +73,17 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(owner);
 
         if (itemDto.getRequestId() != null) {
-            ItemRequest request = new ItemRequest();
-            request.setId(itemDto.getRequestId());
+            ItemRequest request = itemRequestRepository.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new NotFoundException("Запрос", itemDto.getRequestId()));
             item.setRequest(request);
         }
 
         Item savedItem = itemRepository.save(item);
+        itemSearchIndex.update(savedItem);
+        if (savedItem.getRequest() != null) {
+            itemRequestFeed.publishResponse(new RequestResponseDto(savedItem.getRequest().getId(),
+                    ItemRequestMapper.toRequestedItemDto(savedItem)), savedItem.getRequest().getRequestorId());
+        }
         return ItemMapper.toItemDto(savedItem);
     }
 
@@ -79,41 +107,48 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
+        itemSearchIndex.update(updatedItem);
+        itemDetailCache.evictAfterCompletion(itemId);
         return ItemMapper.toItemDto(existingItem);
     }
 
     @Override
-    public ItemDto getItemById(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Предмет", itemId));
-
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-        List<Comment> comments = commentRepository.findByItemIdOrderByCreatedDesc(itemId);
-        List<CommentDto> commentDtos = comments.stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
-        itemDto.setComments(commentDtos);
-
-        return ItemMapper.toItemDto(item);
+    public ItemDto getItemById(Long itemId, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemDetails details = itemDetailCache.get(itemId, now)
+                .orElseGet(() -> loadItemDetails(itemId));
+        return details.toItemDto(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllItemsByOwner(Long ownerId) {
-        return itemRepository.findByOwnerId(ownerId).stream()
-                .map(ItemMapper::toItemDto)
+        Map<Long, List<CommentDto>> comments = CommentMapper.groupByItemId(
+                commentRepository.findByItemOwnerIdOrderByCreatedDesc(ownerId));
+        List<ItemDto> items = itemRepository.findViewsByOwnerId(ownerId).stream()
+                .map(item -> ItemMapper.toItemDto(item,
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
+        attachLastAndNextBookings(items);
+        return items;
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchItems(String text, Integer from, Integer size) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
+        if (itemSearchIndex.isReady()) {
+            long[] itemIds = itemSearchIndex.search(text);
+            int pageStart = Math.min(from, itemIds.length);
+            int pageEnd = Math.min(pageStart + size, itemIds.length);
+            return findIndexedItems(Arrays.copyOfRange(itemIds, pageStart, pageEnd));
+        }
+
         String searchText = text.toLowerCase();
-        return itemRepository.findAvailableItemsWithText(searchText).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        return toItemDtos(itemRepository.findAvailableItemsWithText(searchText, OffsetPageRequest.of(from, size)));
     }
 
     @Override
@@ -139,7 +174,66 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        itemDetailCache.evictAfterCompletion(itemId);
 
         return CommentMapper.toCommentDto(savedComment);
     }
+
+    private ItemDetails loadItemDetails(Long itemId) {
+        long stamp = itemDetailCache.stamp();
+        ItemView item = itemRepository.findViewById(itemId)
+                .orElseThrow(() -> new NotFoundException("Предмет", itemId));
+
+        List<CommentDto> commentDtos = commentRepository.findByItemIdOrderByCreatedDesc(itemId).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList());
+        ItemDto itemDto = ItemMapper.toItemDto(item, commentDtos);
+        attachLastAndNextBookings(List.of(itemDto));
+
+        ItemDetails details = new ItemDetails(item.getOwnerId(), itemDto);
+        itemDetailCache.put(details, stamp);
+        return details;
+    }
+
+    private void attachLastAndNextBookings(List<ItemDto> items) {
+        Map<Long, ItemDto> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        List<BookingShortView> bookings = bookingService.findLastAndNextApprovedBookings(
+                itemsById.keySet(), LocalDateTime.now());
+
+        for (BookingShortView booking : bookings) {
+            ItemDto item = itemsById.get(booking.getItemId());
+            if (Boolean.TRUE.equals(booking.getPast())) {
+                item.setLastBooking(BookingMapper.toBookingShortDto(booking));
+            } else {
+                item.setNextBooking(BookingMapper.toBookingShortDto(booking));
+            }
+        }
+    }
+
+    private List<ItemDto> findIndexedItems(long[] itemIds) {
+        if (itemIds.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = Arrays.stream(itemIds).boxed().collect(Collectors.toList());
+        Map<Long, ItemView> itemsById = itemRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+        return toItemDtos(ids.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toList()));
+    }
+
+    private List<ItemDto> toItemDtos(List<ItemView> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream().map(ItemView::getId).collect(Collectors.toList());
+        Map<Long, List<CommentDto>> comments = CommentMapper.groupByItemId(
+                commentRepository.findByItemIdsOrderByCreatedDesc(itemIds));
+        return items.stream()
+                .map(item -> ItemMapper.toItemDto(item,
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 }
@@ -1,9 +1,78 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/requests")
+@Validated
 public class ItemRequestController {
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(ItemRequestController.class);
+    private final ItemRequestService itemRequestService;
+
+    public ItemRequestController(ItemRequestService itemRequestService) {
+        this.itemRequestService = itemRequestService;
+    }
+
+    @PostMapping
+    public ItemRequestDto createRequest(@RequestBody @Valid ItemRequestDto itemRequestDto,
+                                        @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Создание запроса вещи пользователем {}: {}", userId, itemRequestDto.getDescription());
+        ItemRequestDto request = itemRequestService.createRequest(itemRequestDto, userId);
+        log.info("Запрос создан с ID {}", request.getId());
+        return request;
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getOwnRequests(
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        log.info("Получение запросов пользователя {}, from={}, size={}", userId, from, size);
+        List<ItemRequestDto> requests = itemRequestService.getOwnRequests(userId, from, size);
+        log.info("Найдено {} запросов", requests.size());
+        return requests;
+    }
+
+    @GetMapping("/all")
+    public List<ItemRequestDto> getOtherUsersRequests(
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        log.info("Получение запросов других пользователей для {}, from={}, size={}", userId, from, size);
+        List<ItemRequestDto> requests = itemRequestService.getOtherUsersRequests(userId, from, size);
+        log.info("Найдено {} запросов", requests.size());
+        return requests;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequests(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                     @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Подписка пользователя {} на ленту запросов, Last-Event-ID={}", userId, lastEventId);
+        return itemRequestService.subscribe(userId, lastEventId);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getRequestById(@PathVariable @Positive Long requestId,
+                                         @RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Получение запроса {} пользователем {}", requestId, userId);
+        ItemRequestDto request = itemRequestService.getRequestById(requestId, userId);
+        log.info("Найден запрос: {}", request.getId());
+        return request;
+    }
 }
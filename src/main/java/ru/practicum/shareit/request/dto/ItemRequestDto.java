@@ -1,7 +1,19 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequestDto {
+    private Long id;
+    @NotBlank(message = "Описание запроса не может быть пустым")
+    private String description;
+    private LocalDateTime created;
+    private List<RequestedItemDto> items;
 }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemRequestMapper {
+    public static ItemRequestDto toItemRequestDto(ItemRequest request, List<RequestedItemDto> items) {
+        return new ItemRequestDto(
+                request.getId(),
+                request.getDescription(),
+                request.getCreated(),
+                items
+        );
+    }
+
+    public static RequestedItemDto toRequestedItemDto(ItemView item) {
+        return new RequestedItemDto(
+                item.getId(),
+                item.getName(),
+                item.getOwnerId()
+        );
+    }
+
+    public static RequestedItemDto toRequestedItemDto(Item item) {
+        return new RequestedItemDto(
+                item.getId(),
+                item.getName(),
+                item.getOwner().getId()
+        );
+    }
+}
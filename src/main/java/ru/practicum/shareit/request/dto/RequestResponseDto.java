@@ -0,0 +1,12 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestResponseDto {
+    private Long requestId;
+    private RequestedItemDto item;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestedItemDto {
+    private Long id;
+    private String name;
+    private Long ownerId;
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    List<ItemRequest> findByRequestorIdOrderByCreatedDescIdDesc(Long requestorId, Pageable pageable);
+
+    List<ItemRequest> findByRequestorIdNotOrderByCreatedDescIdDesc(Long requestorId, Pageable pageable);
+}
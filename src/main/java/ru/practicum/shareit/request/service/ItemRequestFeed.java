@@ -0,0 +1,55 @@
+package ru.practicum.shareit.request.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.event.EventBus;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestResponseDto;
+
+import java.time.Duration;
+
+/**
+ * Лента запросов вещей: пользователь получает новые запросы других пользователей
+ * (событие request) и вещи, добавленные в ответ на его собственные запросы (событие response).
+ */
+@Component
+public class ItemRequestFeed implements MeterBinder {
+    static final String REQUEST_EVENT = "request";
+    static final String RESPONSE_EVENT = "response";
+
+    private final EventBus bus;
+    private final long timeoutMillis;
+
+    public ItemRequestFeed(@Value("${shareit.events.requests.queue-size:256}") int queueSize,
+                           @Value("${shareit.events.requests.history-size:1024}") int historySize,
+                           @Value("${shareit.events.timeout:10m}") Duration timeout) {
+        this.bus = new EventBus("requests", queueSize, historySize);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return bus.subscribe(userId, timeoutMillis, lastEventId);
+    }
+
+    public void publishRequestCreated(ItemRequestDto request, Long requestorId) {
+        bus.broadcastAfterCommit(REQUEST_EVENT, requestorId, request);
+    }
+
+    public void publishResponse(RequestResponseDto response, Long requestorId) {
+        bus.publishAfterCommit(RESPONSE_EVENT, requestorId, response);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bus.bindTo(registry);
+    }
+
+    @PreDestroy
+    public void close() {
+        bus.close();
+    }
+}
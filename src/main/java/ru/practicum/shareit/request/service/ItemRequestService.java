@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId);
+
+    List<ItemRequestDto> getOwnRequests(Long userId, Integer from, Integer size);
+
+    List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size);
+
+    ItemRequestDto getRequestById(Long requestId, Long userId);
+
+    SseEmitter subscribe(Long userId, Long lastEventId);
+}
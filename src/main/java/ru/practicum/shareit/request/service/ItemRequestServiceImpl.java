@@ -0,0 +1,102 @@
+package ru.practicum.shareit.request.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.RequestedItemDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("shareit.service")
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final ItemRequestFeed itemRequestFeed;
+
+    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, ItemRepository itemRepository,
+                                  UserService userService, ItemRequestFeed itemRequestFeed) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.userService = userService;
+        this.itemRequestFeed = itemRequestFeed;
+    }
+
+    @Override
+    @Transactional
+    public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
+        userService.getUserById(userId);
+
+        ItemRequest request = new ItemRequest();
+        request.setDescription(itemRequestDto.getDescription());
+        request.setRequestorId(userId);
+        request.setCreated(LocalDateTime.now());
+
+        ItemRequest savedRequest = itemRequestRepository.save(request);
+        ItemRequestDto requestDto = ItemRequestMapper.toItemRequestDto(savedRequest, Collections.emptyList());
+        itemRequestFeed.publishRequestCreated(requestDto, userId);
+        return requestDto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOwnRequests(Long userId, Integer from, Integer size) {
+        userService.getUserById(userId);
+        return withItems(itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(
+                userId, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOtherUsersRequests(Long userId, Integer from, Integer size) {
+        userService.getUserById(userId);
+        return withItems(itemRequestRepository.findByRequestorIdNotOrderByCreatedDescIdDesc(
+                userId, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemRequestDto getRequestById(Long requestId, Long userId) {
+        userService.getUserById(userId);
+        ItemRequest request = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос", requestId));
+        return withItems(List.of(request)).get(0);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        userService.getUserById(userId);
+        return itemRequestFeed.subscribe(userId, lastEventId);
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<RequestedItemDto>> items = itemRepository.findViewsByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemView::getRequestId,
+                        Collectors.mapping(ItemRequestMapper::toRequestedItemDto, Collectors.toList())));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,27 +1,63 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserPageDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/users")
 @Validated
 public class UserController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int EXPORT_PAGE_SIZE = 500;
 
     private final Logger log = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxPageSize;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper, Validator validator,
+                          @Value("${shareit.users.max-page-size:1000}") int maxPageSize) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping
@@ -51,11 +87,73 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        log.info("Получение всех пользователей");
-        List<UserDto> users = userService.getAllUsers();
-        log.info("Найдено {} пользователей", users.size());
-        return users;
+    public ResponseEntity<List<UserDto>> getUsers(
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        log.info("Получение пользователей: after={}, size={}, count={}", after, size, count);
+        if (size > maxPageSize) {
+            throw new ValidationException("Размер страницы не может превышать " + maxPageSize);
+        }
+        UserPageDto page = userService.getUsers(after, size, count);
+        log.info("Найдено {} пользователей", page.getUsers().size());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        if (page.getTotal() != null) {
+            response.header(TOTAL_COUNT_HEADER, page.getTotal().toString());
+        }
+        return response.body(page.getUsers());
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(InputStream body) {
+        log.info("Импорт пользователей");
+        StreamingResponseBody response = out -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            List<UserImportResultDto> rejected = new ArrayList<>();
+            List<UserDto> users = new ArrayList<>();
+            List<Long> userLines = new ArrayList<>();
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                UserImportResultDto error = parseUser(line, lineNumber, users, userLines);
+                if (error != null) {
+                    rejected.add(error);
+                }
+                if (rejected.size() + users.size() >= IMPORT_CHUNK_SIZE) {
+                    importChunk(rejected, users, userLines, out);
+                }
+            }
+            importChunk(rejected, users, userLines, out);
+            log.info("Импорт пользователей завершен, обработано строк: {}", lineNumber);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Выгрузка пользователей");
+        StreamingResponseBody body = out -> {
+            UserPageDto page = userService.getUsers(0L, EXPORT_PAGE_SIZE, false);
+            writeNdjson(out, page.getUsers());
+            while (page.getNextCursor() != null) {
+                page = userService.getUsers(page.getNextCursor(), EXPORT_PAGE_SIZE, false);
+                writeNdjson(out, page.getUsers());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{userId}")
@@ -64,4 +162,58 @@ public class UserController {
         userService.deleteUser(userId);
         log.info("Пользователь с ID {} удален", userId);
     }
+
+    private UserImportResultDto parseUser(String line, long lineNumber, List<UserDto> users, List<Long> userLines) {
+        UserDto userDto;
+        try {
+            userDto = objectMapper.readValue(line, UserDto.class);
+        } catch (JsonProcessingException e) {
+            return new UserImportResultDto(lineNumber, HttpStatus.BAD_REQUEST.value(), null,
+                    "Некорректный JSON: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(userDto);
+        if (!violations.isEmpty()) {
+            return new UserImportResultDto(lineNumber, HttpStatus.BAD_REQUEST.value(), null, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        users.add(userDto);
+        userLines.add(lineNumber);
+        return null;
+    }
+
+    private void importChunk(List<UserImportResultDto> rejected, List<UserDto> users, List<Long> userLines,
+                             OutputStream out) throws IOException {
+        List<UserImportResultDto> results = new ArrayList<>(rejected);
+        if (!users.isEmpty()) {
+            List<UserImportResultDto> imported;
+            try {
+                imported = userService.importUsers(users);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Пакет пользователей не сохранен: {}", e.getMostSpecificCause().getMessage());
+                imported = users.stream()
+                        .map(user -> new UserImportResultDto(0, HttpStatus.CONFLICT.value(), null,
+                                "Операция нарушает ограничение целостности данных"))
+                        .collect(Collectors.toList());
+            }
+            for (int i = 0; i < imported.size(); i++) {
+                imported.get(i).setLine(userLines.get(i));
+            }
+            results.addAll(imported);
+        }
+        results.sort(Comparator.comparingLong(UserImportResultDto::getLine));
+        writeNdjson(out, results);
+        rejected.clear();
+        users.clear();
+        userLines.clear();
+    }
+
+    private void writeNdjson(OutputStream out, List<?> values) throws IOException {
+        for (Object value : values) {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        }
+        out.flush();
+    }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDto {
+    private long line;
+    private int status;
+    private UserDto user;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDto {
+    private List<UserDto> users;
+
+    private Long nextCursor;
+
+    private Long total;
+}
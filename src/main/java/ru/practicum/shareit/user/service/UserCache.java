@@ -0,0 +1,140 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Кэш пользователей по идентификатору на Caffeine с вытеснением по размеру и времени жизни.
+ * Дополнительный индекс по email позволяет без запроса к базе подтвердить, что email занят.
+ * Сброс записи выполняется после завершения транзакции, а значение, прочитанное до
+ * сброса, в кэш уже не попадает. Метрики регистрируются так же, как у кэшей CacheManager.
+ */
+@Component
+public class UserCache {
+    private static final String CACHE_NAME = "users";
+    private static final String CACHE_MANAGER = "userCache";
+
+    private final int maxSize;
+    private final Cache<Long, UserDto> usersById;
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long invalidations;
+
+    public UserCache(@Value("${shareit.cache.users.max-size:10000}") int maxSize,
+                     @Value("${shareit.cache.users.ttl:10m}") Duration ttl,
+                     ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar) {
+        this.maxSize = maxSize;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(ttl)
+                .evictionListener(this::onEviction)
+                .recordStats()
+                .build();
+        cacheMetricsRegistrar.ifAvailable(registrar -> registrar.bindCacheToRegistry(
+                new CaffeineCache(CACHE_NAME, asObjectCache(usersById)), Tag.of("cache.manager", CACHE_MANAGER)));
+    }
+
+    public Optional<UserDto> get(Long userId) {
+        return Optional.ofNullable(usersById.getIfPresent(userId)).map(UserCache::copy);
+    }
+
+    public boolean containsEmail(String email) {
+        Long userId = userIdsByEmail.get(email);
+        if (userId == null) {
+            return false;
+        }
+        // чтение через asMap не учитывается в статистике попаданий
+        UserDto cached = usersById.asMap().get(userId);
+        return cached != null && email.equals(cached.getEmail());
+    }
+
+    /**
+     * Отметка, которую нужно получить до чтения пользователя из базы и передать в {@link #put}.
+     */
+    public long stamp() {
+        lock.lock();
+        try {
+            return invalidations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(UserDto user, long stamp) {
+        if (maxSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (stamp != invalidations) {
+                return;
+            }
+            remove(user.getId());
+            userIdsByEmail.put(user.getEmail(), user.getId());
+            usersById.put(user.getId(), copy(user));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAfterCompletion(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        lock.lock();
+        try {
+            invalidations++;
+            remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long userId) {
+        UserDto removed = usersById.asMap().remove(userId);
+        if (removed != null) {
+            userIdsByEmail.remove(removed.getEmail(), userId);
+        }
+    }
+
+    private void onEviction(Long userId, UserDto user, RemovalCause cause) {
+        if (userId != null && user != null) {
+            userIdsByEmail.remove(user.getEmail(), userId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> asObjectCache(Cache<?, ?> cache) {
+        return (Cache<Object, Object>) cache;
+    }
+
+    private static UserDto copy(UserDto user) {
+        return new UserDto(user.getId(), user.getName(), user.getEmail());
+    }
+}
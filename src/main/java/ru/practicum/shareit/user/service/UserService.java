@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserPageDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.List;
@@ -12,7 +14,9 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
-    List<UserDto> getAllUsers();
+    UserPageDto getUsers(Long after, int size, boolean withTotal);
+
+    List<UserImportResultDto> importUsers(List<UserDto> userDtos);
 
     void deleteUser(Long userId);
 }
@@ -1,32 +1,49 @@
 package ru.practicum.shareit.user.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.service.ItemDetailCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserPageDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ItemDetailCache itemDetailCache;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserCache userCache, ItemDetailCache itemDetailCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.itemDetailCache = itemDetailCache;
     }
 
 
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto) {
-        if (userRepository.existsByEmail(userDto.getEmail())) {
+        if (isEmailTaken(userDto.getEmail())) {
             throw new ConflictException("Пользователь с email " + userDto.getEmail() + " уже существует");
         }
 
@@ -42,31 +59,75 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("Пользователь", userId));
 
         if (userUpdateDto.getEmail() != null && !userUpdateDto.getEmail().equals(existingUser.getEmail())) {
-            if (userRepository.existsByEmail(userUpdateDto.getEmail())) {
+            if (isEmailTaken(userUpdateDto.getEmail())) {
                 throw new ConflictException("Email " + userUpdateDto.getEmail() + " уже используется");
             }
             existingUser.setEmail(userUpdateDto.getEmail());
         }
 
-        if (userUpdateDto.getName() != null) {
+        if (userUpdateDto.getName() != null && !userUpdateDto.getName().equals(existingUser.getName())) {
             existingUser.setName(userUpdateDto.getName());
+            // имя автора хранится в отзывах закэшированных карточек
+            itemDetailCache.clearAfterCompletion();
         }
 
+        userCache.invalidateAfterCompletion(userId);
         return UserMapper.toUserDto(existingUser);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long userId) {
-        User user = userRepository.findById(userId)
+        Optional<UserDto> cached = userCache.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long stamp = userCache.stamp();
+        UserDto user = userRepository.findDtoById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь", userId));
-        return UserMapper.toUserDto(user);
+        userCache.put(user, stamp);
+        return user;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageDto getUsers(Long after, int size, boolean withTotal) {
+        List<UserDto> users = userRepository.findDtosAfter(after, PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = users.get(size - 1).getId();
+        }
+        Long total = withTotal ? userRepository.count() : null;
+        return new UserPageDto(users, nextCursor, total);
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public List<UserImportResultDto> importUsers(List<UserDto> userDtos) {
+        Set<String> takenEmails = new HashSet<>(userRepository.findEmailsByEmailIn(userDtos.stream()
+                .map(UserDto::getEmail)
+                .collect(Collectors.toSet())));
+
+        List<UserImportResultDto> results = new ArrayList<>();
+        Map<UserImportResultDto, User> createdUsers = new LinkedHashMap<>();
+        for (UserDto userDto : userDtos) {
+            UserImportResultDto result = new UserImportResultDto(0, HttpStatus.CREATED.value(), null, null);
+            results.add(result);
+            if (!takenEmails.add(userDto.getEmail())) {
+                result.setStatus(HttpStatus.CONFLICT.value());
+                result.setError("Пользователь с email " + userDto.getEmail() + " уже существует");
+                continue;
+            }
+            User user = UserMapper.toUser(userDto);
+            user.setId(null);
+            createdUsers.put(result, user);
+        }
+
+        userRepository.saveAll(createdUsers.values());
+        createdUsers.forEach((result, user) -> result.setUser(UserMapper.toUserDto(user)));
+        return results;
     }
 
     @Override
@@ -76,5 +137,11 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException("Пользователь", userId);
         }
         userRepository.deleteById(userId);
+        userCache.invalidateAfterCompletion(userId);
+        itemDetailCache.clearAfterCompletion();
+    }
+
+    private boolean isEmailTaken(String email) {
+        return userCache.containsEmail(email) || userRepository.existsByEmail(email);
     }
 }
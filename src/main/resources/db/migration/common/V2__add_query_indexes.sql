@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created DESC);
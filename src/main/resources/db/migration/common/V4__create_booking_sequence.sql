@@ -0,0 +1 @@
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 50 INCREMENT BY 50;
@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS ix_item_requests_requestor_created ON item_requests (requestor_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_item_requests_created ON item_requests (created DESC, id DESC);
@@ -0,0 +1,5 @@
+ALTER SEQUENCE booking_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings);
+
+-- единственный генератор идентификаторов — booking_seq, в том числе для вставок без id в обход JPA
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR booking_seq;
@@ -0,0 +1,39 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm
+    ON items USING gin (LOWER(name) gin_trgm_ops) WHERE available;
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm
+    ON items USING gin (LOWER(description) gin_trgm_ops) WHERE available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- В базе, подключённой через baseline-on-migrate, уже могут быть пересекающиеся подтверждённые
+-- бронирования, и ограничение ниже не создастся. По каждой вещи в порядке начала оставляем
+-- первое бронирование, а каждое более позднее, пересекающееся с оставленными, отклоняем.
+DO $$
+DECLARE
+    booking RECORD;
+    current_item BIGINT;
+    kept_end TIMESTAMP WITHOUT TIME ZONE;
+BEGIN
+    FOR booking IN
+        SELECT id, item_id, start_date, end_date
+        FROM bookings
+        WHERE status = 'APPROVED'
+        ORDER BY item_id, start_date, id
+    LOOP
+        IF current_item IS DISTINCT FROM booking.item_id THEN
+            current_item := booking.item_id;
+            kept_end := booking.end_date;
+        ELSIF booking.start_date < kept_end AND booking.start_date < booking.end_date THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+        ELSE
+            kept_end := GREATEST(kept_end, booking.end_date);
+        END IF;
+    END LOOP;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_booking_item_period
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status = 'APPROVED');
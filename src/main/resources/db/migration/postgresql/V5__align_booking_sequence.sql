@@ -0,0 +1,6 @@
+SELECT setval('booking_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings), false);
+
+-- единственный генератор идентификаторов — booking_seq, в том числе для вставок без id в обход JPA
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('booking_seq');
+ALTER SEQUENCE booking_seq OWNED BY bookings.id;
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Детерминированный генератор данных для замеров: при одинаковых масштабе и зерне
+ * создаёт одинаковый набор пользователей, запросов, вещей, бронирований и комментариев.
+ * Данные пишутся пакетами через JDBC с явными идентификаторами 1..N, после чего счётчики
+ * идентификаторов и booking_seq сдвигаются за последние значения.
+ */
+public class DataGenerator {
+    public static final long DEFAULT_SEED = 42L;
+    public static final List<String> WORDS = List.of(
+            "дрель", "пила", "лестница", "палатка", "велосипед", "проектор", "шуруповёрт", "перфоратор",
+            "каяк", "самокат", "гитара", "камера", "штатив", "мангал", "лодка", "рюкзак",
+            "drill", "saw", "ladder", "tent", "bike", "projector", "camera", "tripod");
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int BOOKING_SLOT_HOURS = 72;
+
+    private final JdbcTemplate jdbc;
+    private final Random random;
+
+    public DataGenerator(JdbcTemplate jdbc, long seed) {
+        this.jdbc = jdbc;
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(Scale scale) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        int owners = Math.max(1, scale.users() / 2);
+        int requests = Math.max(1, scale.users() / 10);
+        int items = owners * scale.itemsPerOwner();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (long id = 1; id <= scale.users(); id++) {
+            userRows.add(new Object[]{id, "user " + id, "user" + id + "@shareit.test"});
+        }
+        insert("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", userRows);
+
+        List<Object[]> requestRows = new ArrayList<>();
+        for (long id = 1; id <= requests; id++) {
+            requestRows.add(new Object[]{id, "нужна " + word(), randomBooker(owners, scale.users()),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 30)))});
+        }
+        insert("INSERT INTO item_requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+                requestRows);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            long ownerId = (id - 1) / scale.itemsPerOwner() + 1;
+            Long requestId = random.nextInt(20) == 0 ? (long) random.nextInt(requests) + 1 : null;
+            itemRows.add(new Object[]{id, word() + " " + word(), sentence(6), random.nextInt(10) != 0,
+                    ownerId, requestId});
+        }
+        insert("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", itemRows);
+
+        // Бронирования вещи идут подряд по слотам, поэтому подтверждённые периоды не пересекаются,
+        // а половина слотов приходится на прошлое и половина на будущее.
+        LocalDateTime firstSlot = now.minusHours((long) BOOKING_SLOT_HOURS * scale.bookingsPerItem() / 2);
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        long bookingId = 0;
+        for (long itemId = 1; itemId <= items; itemId++) {
+            int itemComments = 0;
+            for (int slot = 0; slot < scale.bookingsPerItem(); slot++) {
+                LocalDateTime start = firstSlot.plusHours((long) slot * BOOKING_SLOT_HOURS + random.nextInt(24));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(BOOKING_SLOT_HOURS - 25));
+                long bookerId = randomBooker(owners, scale.users());
+                BookingStatus status = randomStatus();
+                bookingRows.add(new Object[]{++bookingId, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                        itemId, bookerId, status.name()});
+                if (status == BookingStatus.APPROVED && end.isBefore(now) && itemComments < scale.commentsPerItem()) {
+                    itemComments++;
+                    commentRows.add(new Object[]{(long) commentRows.size() + 1, sentence(8), itemId, bookerId,
+                            Timestamp.valueOf(end.plusHours(1))});
+                }
+            }
+        }
+        insert("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", bookingRows);
+        insert("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                commentRows);
+
+        restartIdentity("users", scale.users());
+        restartIdentity("item_requests", requests);
+        restartIdentity("items", items);
+        restartIdentity("comments", commentRows.size());
+        jdbc.execute("ALTER SEQUENCE booking_seq RESTART WITH " + (bookingId + 50));
+        return new Dataset(scale.users(), owners, requests, items, bookingId, commentRows.size());
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private void restartIdentity(String table, long lastId) {
+        jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (lastId + 1));
+    }
+
+    private long randomBooker(int owners, int users) {
+        if (users == owners) {
+            return random.nextInt(users) + 1;
+        }
+        return owners + random.nextInt(users - owners) + 1;
+    }
+
+    private BookingStatus randomStatus() {
+        int roll = random.nextInt(100);
+        if (roll < 60) {
+            return BookingStatus.APPROVED;
+        }
+        if (roll < 80) {
+            return BookingStatus.WAITING;
+        }
+        return roll < 95 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+    }
+
+    private String word() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder(word());
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(word());
+        }
+        return sentence.toString();
+    }
+
+    /**
+     * Масштаб набора данных. Первая половина пользователей владеет вещами, вторая бронирует
+     * их и оставляет комментарии.
+     */
+    public record Scale(int users, int itemsPerOwner, int bookingsPerItem, int commentsPerItem) {
+        public static Scale of(int users) {
+            return new Scale(users, 4, 10, 2);
+        }
+    }
+
+    public record Dataset(int users, int owners, int requests, int items, long bookings, int comments) {
+    }
+}
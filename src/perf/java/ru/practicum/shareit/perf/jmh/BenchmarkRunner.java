@@ -0,0 +1,38 @@
+package ru.practicum.shareit.perf.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Запуск замеров из профиля benchmark. Результаты вместе с нормированной скоростью выделения
+ * памяти (gc.alloc.rate.norm) пишутся в JSON, путь задаёт свойство benchmark.result.
+ * Остальные аргументы командной строки JMH, например -wi 1 -i 1, передаются как есть.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        Path result = Path.of(System.getProperty("benchmark.result", "target/benchmarks/jmh-result.json"));
+        Files.createDirectories(result.toAbsolutePath().getParent());
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(System.getProperty("benchmark.include", ".*Benchmark.*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString());
+        String users = System.getProperty("benchmark.users");
+        if (users != null && !users.isBlank()) {
+            options.param("users", users.split(","));
+        }
+        new Runner(options.build()).run();
+    }
+}
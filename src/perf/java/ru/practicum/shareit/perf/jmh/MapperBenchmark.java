@@ -0,0 +1,96 @@
+package ru.practicum.shareit.perf.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.perf.DataGenerator;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование сущностей в DTO без базы: вещь с комментариями и бронирование с вещью и автором.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param("3")
+    public int commentsPerItem;
+
+    private Item[] items;
+    private Booking[] bookings;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(DataGenerator.DEFAULT_SEED);
+        items = new Item[SAMPLES];
+        bookings = new Booking[SAMPLES];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < SAMPLES; i++) {
+            User owner = new User((long) i, "owner " + i, "owner" + i + "@shareit.test");
+            User booker = new User((long) i + SAMPLES, "booker " + i, "booker" + i + "@shareit.test");
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName(word(random) + " " + word(random));
+            item.setDescription(word(random) + " " + word(random) + " " + word(random));
+            item.setAvailable(true);
+            item.setOwner(owner);
+            List<Comment> comments = new ArrayList<>();
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(new Comment((long) i * commentsPerItem + c, word(random), item, booker,
+                        now.minusDays(c)));
+            }
+            item.setComments(comments);
+            items[i] = item;
+            bookings[i] = new Booking((long) i, now.plusDays(1), now.plusDays(2), item, booker,
+                    BookingStatus.WAITING);
+        }
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(items[nextIndex()]);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToBookingResponseDto() {
+        return BookingMapper.toBookingResponseDto(bookings[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (SAMPLES - 1);
+        return next;
+    }
+
+    private static String word(Random random) {
+        return DataGenerator.WORDS.get(random.nextInt(DataGenerator.WORDS.size()));
+    }
+}
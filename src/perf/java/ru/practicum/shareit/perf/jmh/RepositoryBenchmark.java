@@ -0,0 +1,88 @@
+package ru.practicum.shareit.perf.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingPeriodView;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.perf.DataGenerator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запросы {@link BookingRepository}, на которых строятся карточки вещей и проверки пересечений.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    @Param("20")
+    public int itemsPerQuery;
+
+    private BookingRepository bookingRepository;
+    private DataGenerator.Dataset dataset;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItContext context) {
+        bookingRepository = context.getBean(BookingRepository.class);
+        dataset = context.dataset;
+        random = new SplittableRandom(context.seed);
+    }
+
+    @Benchmark
+    public List<BookingShortView> findLastAndNextApprovedByItemIds() {
+        return bookingRepository.findLastAndNextApprovedByItemIds(randomItemIds(), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BookingPeriodView> findPeriodsByItemIdsAndStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        return bookingRepository.findPeriodsByItemIdsAndStatus(randomItemIds(), BookingStatus.APPROVED,
+                now, now.plusDays(30));
+    }
+
+    @Benchmark
+    public boolean existsApprovedOverlap() {
+        LocalDateTime start = LocalDateTime.now().plusHours(random.nextInt(24 * 30));
+        return bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(randomItemId(),
+                BookingStatus.APPROVED, start.plusDays(1), start);
+    }
+
+    @Benchmark
+    public Optional<BookingRow> findRowById() {
+        return bookingRepository.findRowById(random.nextLong(dataset.bookings()) + 1);
+    }
+
+    private long randomItemId() {
+        return random.nextLong(dataset.items()) + 1;
+    }
+
+    private List<Long> randomItemIds() {
+        List<Long> itemIds = new ArrayList<>(itemsPerQuery);
+        for (int i = 0; i < itemsPerQuery; i++) {
+            itemIds.add(randomItemId());
+        }
+        return itemIds;
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.perf.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.perf.DataGenerator;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие пути сервисов поверх заполненной базы: поиск, карточка вещи, вещи владельца
+ * и списки бронирований владельца.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private ItemService itemService;
+    private BookingService bookingService;
+    private DataGenerator.Dataset dataset;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItContext context) {
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        dataset = context.dataset;
+        random = new SplittableRandom(context.seed);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        String text = DataGenerator.WORDS.get(random.nextInt(DataGenerator.WORDS.size()));
+        return itemService.searchItems(text, 0, 20);
+    }
+
+    @Benchmark
+    public ItemDto getItemById() {
+        long itemId = random.nextLong(dataset.items()) + 1;
+        return itemService.getItemById(itemId, ownerOf(itemId));
+    }
+
+    @Benchmark
+    public List<ItemDto> getAllItemsByOwner() {
+        return itemService.getAllItemsByOwner(randomOwner());
+    }
+
+    @Benchmark
+    public BookingPageDto getOwnerBookings(OwnerBookingsState owner) {
+        return bookingService.getOwnerBookings(randomOwner(), owner.state, 0, null, 20);
+    }
+
+    @Benchmark
+    public BookingResponseDto getBookingById() {
+        long bookingId = random.nextLong(dataset.bookings()) + 1;
+        long itemId = (bookingId - 1) / DataGenerator.Scale.of(dataset.users()).bookingsPerItem() + 1;
+        return bookingService.getBookingById(bookingId, ownerOf(itemId));
+    }
+
+    private long randomOwner() {
+        return random.nextLong(dataset.owners()) + 1;
+    }
+
+    private long ownerOf(long itemId) {
+        return (itemId - 1) / DataGenerator.Scale.of(dataset.users()).itemsPerOwner() + 1;
+    }
+
+    @State(Scope.Benchmark)
+    public static class OwnerBookingsState {
+        @Param({"ALL", "WAITING"})
+        public String state;
+    }
+}
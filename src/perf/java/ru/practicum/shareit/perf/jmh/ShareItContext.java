@@ -0,0 +1,61 @@
+package ru.practicum.shareit.perf.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.perf.DataGenerator;
+
+/**
+ * Приложение без веб-сервера поверх встроенной H2, заполненной {@link DataGenerator}.
+ * Масштаб, зерно и режим поиска задаются параметрами JMH и попадают в файл результатов.
+ */
+@State(Scope.Benchmark)
+public class ShareItContext {
+    @Param("1000")
+    public int users;
+
+    @Param("42")
+    public long seed;
+
+    @Param("false")
+    public boolean searchIndex;
+
+    public DataGenerator.Dataset dataset;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--shareit.search.index.enabled=" + searchIndex);
+        dataset = new DataGenerator(context.getBean(JdbcTemplate.class), seed)
+                .generate(DataGenerator.Scale.of(users));
+        context.getBean(ItemSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек по эндпоинтам в микросекундах. Задержка считается от запланированного
+ * момента отправки, а не от фактического, поэтому очередь перед перегруженным сервером
+ * попадает в перцентили (поправка на coordinated omission).
+ */
+public class LatencyReport {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final long measureStartMillis;
+
+    public LatencyReport(long measureStartMillis) {
+        this.measureStartMillis = measureStartMillis;
+    }
+
+    public void record(String endpoint, long latencyNanos, int status) {
+        EndpointStats stats = stats(endpoint);
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (status >= 500) {
+            stats.serverErrors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    public void recordFailure(String endpoint, long latencyNanos) {
+        EndpointStats stats = stats(endpoint);
+        stats.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        stats.failures.increment();
+    }
+
+    public void recordSkipped(String endpoint) {
+        stats(endpoint).skipped.increment();
+    }
+
+    public void print(PrintStream out, Duration measured) {
+        out.printf("%-24s %8s %8s %9s %9s %9s %9s %9s %6s %6s %6s%n", "endpoint", "count", "rps",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "5xx", "fail");
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            Histogram latency = stats.latency;
+            out.printf("%-24s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %6d %6d %6d%n", endpoint,
+                    latency.getTotalCount(), latency.getTotalCount() / (measured.toMillis() / 1000.0),
+                    millis(latency.getValueAtPercentile(50.0)), millis(latency.getValueAtPercentile(90.0)),
+                    millis(latency.getValueAtPercentile(99.0)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()), stats.clientErrors.sum(), stats.serverErrors.sum(),
+                    stats.failures.sum());
+        });
+    }
+
+    /**
+     * Сводка в JSON для сравнения прогонов и полные гистограммы в формате HdrHistogram log,
+     * которые можно наложить друг на друга в HistogramLogAnalyzer или hdrhistogram-visualizer.
+     */
+    public Path write(Path directory, String label, LoadSettings settings, ObjectMapper objectMapper)
+            throws IOException {
+        Files.createDirectories(directory);
+        String name = settings.mix().label() + (label != null ? "-" + label : "") + "-" + System.currentTimeMillis();
+
+        ObjectNode summary = objectMapper.createObjectNode()
+                .put("mix", settings.mix().label())
+                .put("threads", label)
+                .put("targetRps", settings.rps())
+                .put("durationSeconds", settings.duration().toSeconds())
+                .put("users", settings.users());
+        ObjectNode endpointsNode = summary.putObject("endpoints");
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            ObjectNode node = endpointsNode.putObject(endpoint)
+                    .put("count", stats.latency.getTotalCount())
+                    .put("clientErrors", stats.clientErrors.sum())
+                    .put("serverErrors", stats.serverErrors.sum())
+                    .put("failures", stats.failures.sum())
+                    .put("skipped", stats.skipped.sum())
+                    .put("meanMs", stats.latency.getMean() / 1000.0)
+                    .put("maxMs", millis(stats.latency.getMaxValue()));
+            for (double percentile : PERCENTILES) {
+                node.put("p" + percentile + "Ms", millis(stats.latency.getValueAtPercentile(percentile)));
+            }
+        });
+        Path summaryFile = directory.resolve(name + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(summaryFile.toFile(), summary);
+
+        try (PrintStream log = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(measureStartMillis);
+            writer.setBaseTime(measureStartMillis);
+            writer.outputLegend();
+            new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+                Histogram latency = stats.latency.copy();
+                latency.setTag(endpoint.replace(' ', '_'));
+                latency.setStartTimeStamp(measureStartMillis);
+                latency.setEndTimeStamp(measureStartMillis + settings.duration().toMillis());
+                writer.outputIntervalHistogram(latency);
+            });
+        }
+        return summaryFile;
+    }
+
+    /**
+     * Отчёт, восстановленный из сводки и гистограмм, записанных {@link #write}, например
+     * прогоном в отдельном процессе.
+     */
+    public static LatencyReport read(Path summaryFile, ObjectMapper objectMapper) throws IOException {
+        JsonNode summary = objectMapper.readTree(summaryFile.toFile());
+        String fileName = summaryFile.getFileName().toString();
+        Path histogramFile = summaryFile.resolveSibling(fileName.substring(0, fileName.length() - ".json".length())
+                + ".hlog");
+
+        Map<String, Histogram> histograms = new HashMap<>();
+        try (HistogramLogReader reader = new HistogramLogReader(histogramFile.toFile())) {
+            EncodableHistogram histogram;
+            while ((histogram = reader.nextIntervalHistogram()) != null) {
+                histograms.put(histogram.getTag(), (Histogram) histogram);
+            }
+        }
+
+        LatencyReport report = new LatencyReport(0);
+        Iterator<Map.Entry<String, JsonNode>> endpoints = summary.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> endpoint = endpoints.next();
+            EndpointStats stats = report.stats(endpoint.getKey());
+            Histogram latency = histograms.get(endpoint.getKey().replace(' ', '_'));
+            if (latency != null) {
+                stats.latency.add(latency);
+            }
+            stats.clientErrors.add(endpoint.getValue().path("clientErrors").asLong());
+            stats.serverErrors.add(endpoint.getValue().path("serverErrors").asLong());
+            stats.failures.add(endpoint.getValue().path("failures").asLong());
+            stats.skipped.add(endpoint.getValue().path("skipped").asLong());
+        }
+        return report;
+    }
+
+    /**
+     * Сводка по всем эндпоинтам для нескольких прогонов одного профиля, например в разных
+     * режимах потоков. Успешными считаются ответы без ошибок сервера и сбоев соединения.
+     */
+    public static void printComparison(PrintStream out, Map<String, LatencyReport> reports, Duration measured) {
+        out.printf("%-10s %8s %8s %9s %9s %9s %9s %6s %6s%n", "run", "count", "ok rps",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms", "5xx", "fail");
+        reports.forEach((label, report) -> {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long errors = 0;
+            long failures = 0;
+            for (EndpointStats stats : report.endpoints.values()) {
+                total.add(stats.latency);
+                errors += stats.serverErrors.sum();
+                failures += stats.failures.sum();
+            }
+            out.printf("%-10s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %6d %6d%n", label, total.getTotalCount(),
+                    (total.getTotalCount() - errors - failures) / (measured.toMillis() / 1000.0),
+                    millis(total.getValueAtPercentile(50.0)), millis(total.getValueAtPercentile(99.0)),
+                    millis(total.getValueAtPercentile(99.9)), millis(total.getMaxValue()), errors, failures);
+        });
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class EndpointStats {
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.perf.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки с постоянной интенсивностью: запросы отправляются по расписанию
+ * независимо от того, ответил ли сервер на предыдущие. Каждый запрос выполняется в своём
+ * виртуальном потоке, а задержка отсчитывается от запланированного времени отправки.
+ */
+public class LoadGenerator {
+    private final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final Operation.LoadContext context;
+    private final LoadSettings settings;
+
+    public LoadGenerator(Operation.LoadContext context, LoadSettings settings) {
+        this.context = context;
+        this.settings = settings;
+    }
+
+    public LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport(System.currentTimeMillis() + settings.warmup().toMillis());
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + settings.warmup().toNanos();
+        long endNanos = measureFromNanos + settings.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intendedNanos = startNanos; intendedNanos < endNanos; intendedNanos += intervalNanos) {
+                long delay = intendedNanos - System.nanoTime();
+                while (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                    delay = intendedNanos - System.nanoTime();
+                }
+                Operation operation = settings.mix().pick(random);
+                SplittableRandom operationRandom = random.split();
+                boolean measured = intendedNanos >= measureFromNanos;
+                long intended = intendedNanos;
+                executor.execute(() -> execute(operation, operationRandom, intended, measured ? report : null));
+            }
+            log.info("Все запросы отправлены, ожидание ответов");
+        }
+        return report;
+    }
+
+    private void execute(Operation operation, SplittableRandom random, long intendedNanos, LatencyReport report) {
+        try {
+            HttpResponse<String> response = operation.call(context, random);
+            if (report == null) {
+                return;
+            }
+            if (response == null) {
+                report.recordSkipped(operation.endpoint());
+            } else {
+                report.record(operation.endpoint(), System.nanoTime() - intendedNanos, response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Запрос {} завершился ошибкой: {}", operation.endpoint(), e.toString());
+            if (report != null) {
+                report.recordFailure(operation.endpoint(), System.nanoTime() - intendedNanos);
+            }
+        }
+    }
+}
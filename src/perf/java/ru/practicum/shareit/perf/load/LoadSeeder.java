@@ -0,0 +1,158 @@
+package ru.practicum.shareit.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import ru.practicum.shareit.perf.DataGenerator;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Заполнение через REST API, то есть через те же контроллеры и сервисы, что и под нагрузкой.
+ * Первая половина пользователей получает вещи, вторая бронирует их; около половины
+ * бронирований владельцы сразу подтверждают.
+ */
+public class LoadSeeder {
+    private static final int ITEMS_PER_OWNER = 4;
+    private static final int BOOKINGS_PER_ITEM = 3;
+    private static final int PARALLELISM = 32;
+
+    private final ShareItClient client;
+    private final ObjectMapper objectMapper;
+    private final SplittableRandom random;
+
+    public LoadSeeder(ShareItClient client, ObjectMapper objectMapper, long seed) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public SeededData seed(int users) throws Exception {
+        List<Long> userIds = importUsers(users);
+        List<Long> ownerIds = userIds.subList(0, Math.max(1, userIds.size() / 2));
+        List<Long> bookerIds = userIds.size() > 1 ? userIds.subList(ownerIds.size(), userIds.size()) : userIds;
+        SeededData data = new SeededData(ownerIds, bookerIds);
+
+        List<Callable<Void>> itemTasks = new ArrayList<>();
+        for (Long ownerId : ownerIds) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                String name = word() + " " + word();
+                String description = word() + " " + word() + " " + word();
+                itemTasks.add(() -> {
+                    ObjectNode item = objectMapper.createObjectNode()
+                            .put("name", name)
+                            .put("description", description)
+                            .put("available", true);
+                    JsonNode created = expectOk(client.sendJson("POST", "/items", ownerId, item.toString()));
+                    data.addItem(created.get("id").asLong(), ownerId);
+                    return null;
+                });
+            }
+        }
+        runAll(itemTasks);
+
+        Map<Long, List<Long>> waitingByOwner = new ConcurrentHashMap<>();
+        List<Callable<Void>> bookingTasks = new ArrayList<>();
+        for (SeededData.ItemRef item : data.items()) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                Long bookerId = bookerIds.get(random.nextInt(bookerIds.size()));
+                String booking = data.newBookingJson(objectMapper, item.id(), LocalDateTime.now());
+                bookingTasks.add(() -> {
+                    JsonNode created = expectOk(client.sendJson("POST", "/bookings", bookerId, booking));
+                    waitingByOwner.computeIfAbsent(item.ownerId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(created.get("id").asLong());
+                    return null;
+                });
+            }
+        }
+        runAll(bookingTasks);
+
+        List<Callable<Void>> approveTasks = new ArrayList<>();
+        waitingByOwner.forEach((ownerId, bookingIds) -> {
+            List<Long> approved = bookingIds.subList(0, bookingIds.size() / 2);
+            bookingIds.subList(approved.size(), bookingIds.size())
+                    .forEach(bookingId -> data.addWaitingBooking(bookingId, ownerId));
+            if (approved.isEmpty()) {
+                return;
+            }
+            ObjectNode request = objectMapper.createObjectNode().put("approved", true);
+            approved.forEach(request.putArray("bookingIds")::add);
+            approveTasks.add(() -> {
+                expectOk(client.sendJson("PATCH", "/bookings/batch", ownerId, request.toString()));
+                return null;
+            });
+        });
+        runAll(approveTasks);
+        return data;
+    }
+
+    private List<Long> importUsers(int users) throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= users; i++) {
+            ndjson.append(objectMapper.createObjectNode()
+                    .put("name", "load " + i)
+                    .put("email", "load-" + run + "-" + i + "@shareit.test"))
+                    .append('\n');
+        }
+        HttpResponse<String> response = client.send("POST", "/users/import", null, "application/x-ndjson",
+                ndjson.toString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Импорт пользователей завершился с кодом " + response.statusCode());
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            JsonNode result = objectMapper.readTree(line);
+            if (result.hasNonNull("user")) {
+                userIds.add(result.get("user").get("id").asLong());
+            }
+        }
+        return userIds;
+    }
+
+    private JsonNode expectOk(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Запрос при заполнении завершился с кодом " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws InterruptedException, ExecutionException {
+        Semaphore permits = new Semaphore(PARALLELISM);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private String word() {
+        return DataGenerator.WORDS.get(random.nextInt(DataGenerator.WORDS.size()));
+    }
+}
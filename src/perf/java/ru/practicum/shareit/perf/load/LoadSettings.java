@@ -0,0 +1,30 @@
+package ru.practicum.shareit.perf.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Параметры прогона из системных свойств load.*. Пустой load.url означает, что приложение
+ * запускается поверх встроенной H2: в том же процессе для одного режима из load.threads или
+ * в отдельной JVM на каждый режим, если их несколько.
+ */
+public record LoadSettings(TrafficMix mix, int rps, Duration duration, Duration warmup, int users, long seed,
+                           String url, List<ThreadMode> threads, Path resultDir) {
+
+    public static LoadSettings fromSystemProperties() {
+        String url = System.getProperty("load.url", "");
+        return new LoadSettings(
+                TrafficMix.from(System.getProperty("load.mix", "mixed")),
+                Integer.parseInt(System.getProperty("load.rps", "200")),
+                DurationStyle.detectAndParse(System.getProperty("load.duration", "60s")),
+                DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+                Integer.parseInt(System.getProperty("load.users", "200")),
+                Long.parseLong(System.getProperty("load.seed", "42")),
+                url.isBlank() ? null : url,
+                ThreadMode.parseList(System.getProperty("load.threads", "")),
+                Path.of(System.getProperty("load.result-dir", "target/load")));
+    }
+}
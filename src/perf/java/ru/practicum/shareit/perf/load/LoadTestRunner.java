@@ -0,0 +1,141 @@
+package ru.practicum.shareit.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Точка входа профиля load-test. Без load.url поднимает приложение на случайном порту поверх
+ * встроенной H2, заполняет его через REST API и подаёт нагрузку выбранного профиля.
+ * Итоговая таблица печатается в консоль, сводка и гистограммы пишутся в load.result-dir.
+ * Если в load.threads перечислено несколько режимов потоков, каждый прогоняется по очереди
+ * в отдельной JVM, чтобы JIT и кэши, прогретые одним режимом, не давали фору следующему;
+ * в конце печатается сравнение по сохранённым сводкам. Аргументы запуска (load.app-args)
+ * передаются приложению, например чтобы подключить его к PostgreSQL вместо H2.
+ */
+public final class LoadTestRunner {
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final String THREADS_PROPERTY = "load.threads";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (settings.url() != null) {
+            run(settings.url(), null, settings, objectMapper);
+            return;
+        }
+
+        List<ThreadMode> modes = settings.threads();
+        if (modes.size() > 1) {
+            Map<String, LatencyReport> reports = new LinkedHashMap<>();
+            for (ThreadMode mode : modes) {
+                reports.put(mode.label(), fork(mode, settings, args, objectMapper));
+            }
+            LatencyReport.printComparison(System.out, reports, settings.duration());
+            return;
+        }
+
+        ThreadMode mode = modes.isEmpty() ? null : modes.get(0);
+        try (ConfigurableApplicationContext application = startApplication(mode, args)) {
+            String url = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            run(url, mode != null ? mode.label() : null, settings, objectMapper);
+        }
+    }
+
+    /**
+     * Прогон одного режима в дочерней JVM с теми же параметрами запуска. Отчёт читается из
+     * сводки, которую дочерний процесс записал в load.result-dir.
+     */
+    private static LatencyReport fork(ThreadMode mode, LoadSettings settings, String[] args,
+                                      ObjectMapper objectMapper) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> !argument.startsWith("-D" + THREADS_PROPERTY + "="))
+                .forEach(command::add);
+        command.add("-D" + THREADS_PROPERTY + "=" + mode.label());
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTestRunner.class.getName());
+        command.addAll(List.of(args));
+
+        log.info("Прогон в режиме потоков {} в отдельной JVM", mode.label());
+        long startedAt = System.currentTimeMillis();
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Прогон в режиме " + mode.label() + " завершился с кодом " + exitCode);
+        }
+        return LatencyReport.read(summaryWrittenSince(settings, mode, startedAt), objectMapper);
+    }
+
+    private static Path summaryWrittenSince(LoadSettings settings, ThreadMode mode, long startedAt)
+            throws IOException {
+        // Имя сводки: профиль-режим-время записи.json, см. LatencyReport.write
+        String prefix = settings.mix().label() + "-" + mode.label() + "-";
+        try (Stream<Path> files = Files.list(settings.resultDir())) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(".json")
+                                && Long.parseLong(name.substring(prefix.length(), name.length() - 5)) >= startedAt;
+                    })
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow(() -> new IllegalStateException("Прогон в режиме " + mode.label()
+                            + " не записал сводку в " + settings.resultDir()));
+        }
+    }
+
+    private static LatencyReport run(String url, String label, LoadSettings settings, ObjectMapper objectMapper)
+            throws Exception {
+        ShareItClient client = new ShareItClient(url);
+        log.info("Заполнение {}: {} пользователей", url, settings.users());
+        SeededData data = new LoadSeeder(client, objectMapper, settings.seed()).seed(settings.users());
+
+        log.info("Профиль {}{}: {} запросов в секунду, прогрев {}, замер {}", settings.mix().label(),
+                label != null ? ", потоки " + label : "", settings.rps(), settings.warmup(), settings.duration());
+        LatencyReport report = new LoadGenerator(new Operation.LoadContext(client, data, objectMapper), settings)
+                .run();
+
+        report.print(System.out, settings.duration());
+        Path summary = report.write(settings.resultDir(), label, settings, objectMapper);
+        log.info("Результаты записаны в {}", summary);
+        return report;
+    }
+
+    private static ConfigurableApplicationContext startApplication(ThreadMode mode, String[] args) {
+        List<String> runArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load" + (mode != null ? "-" + mode.label() : "")
+                        + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit.perf=INFO"));
+        if (mode != null) {
+            runArgs.add(mode.applicationArgument());
+        }
+        // Аргументы командной строки идут последними и переопределяют значения по умолчанию
+        runArgs.addAll(List.of(args));
+        return new SpringApplicationBuilder(ShareItApp.class).run(runArgs.toArray(new String[0]));
+    }
+}
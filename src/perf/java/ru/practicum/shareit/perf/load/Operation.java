@@ -0,0 +1,112 @@
+package ru.practicum.shareit.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.perf.DataGenerator;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Вызов одного эндпоинта. Имя операции используется как метка в отчёте. Операция может
+ * вернуть null, если вызывать нечего, например когда нет ожидающих подтверждения бронирований.
+ */
+public enum Operation {
+    SEARCH_ITEMS("GET /items/search") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            String text = DataGenerator.WORDS.get(random.nextInt(DataGenerator.WORDS.size()));
+            return context.client().get("/items/search?text=" + encode(text) + "&size=20", null);
+        }
+    },
+    GET_ITEM("GET /items/{id}") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            SeededData.ItemRef item = pick(context.data().items(), random);
+            Long userId = random.nextBoolean() ? item.ownerId() : pick(context.data().bookerIds(), random);
+            return context.client().get("/items/" + item.id(), userId);
+        }
+    },
+    OWNER_ITEMS("GET /items") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            return context.client().get("/items", pick(context.data().ownerIds(), random));
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            String state = random.nextBoolean() ? "WAITING" : "ALL";
+            return context.client().get("/bookings/owner?state=" + state + "&size=20",
+                    pick(context.data().ownerIds(), random));
+        }
+    },
+    BOOKER_BOOKINGS("GET /bookings") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            return context.client().get("/bookings?state=ALL&size=20", pick(context.data().bookerIds(), random));
+        }
+    },
+    CREATE_BOOKING("POST /bookings") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            SeededData.ItemRef item = pick(context.data().items(), random);
+            String booking = context.data().newBookingJson(context.objectMapper(), item.id(), LocalDateTime.now());
+            HttpResponse<String> response = context.client().sendJson("POST", "/bookings",
+                    pick(context.data().bookerIds(), random), booking);
+            if (response.statusCode() == 200) {
+                long bookingId = context.objectMapper().readTree(response.body()).get("id").asLong();
+                context.data().addWaitingBooking(bookingId, item.ownerId());
+            }
+            return response;
+        }
+    },
+    APPROVE_BOOKING("PATCH /bookings/{id}") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            SeededData.WaitingBooking booking = context.data().pollWaitingBooking();
+            if (booking == null) {
+                return null;
+            }
+            return context.client().send("PATCH", "/bookings/" + booking.id() + "?approved=" + random.nextBoolean(),
+                    booking.ownerId(), null, null);
+        }
+    },
+    GET_USER("GET /users/{id}") {
+        @Override
+        HttpResponse<String> call(LoadContext context, SplittableRandom random) throws IOException, InterruptedException {
+            return context.client().get("/users/" + pick(context.data().bookerIds(), random), null);
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    abstract HttpResponse<String> call(LoadContext context, SplittableRandom random)
+            throws IOException, InterruptedException;
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Всё, что нужно операции для вызова: клиент, заполненные данные и JSON.
+     */
+    public record LoadContext(ShareItClient client, SeededData data, ObjectMapper objectMapper) {
+    }
+}
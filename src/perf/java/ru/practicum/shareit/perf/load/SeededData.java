@@ -0,0 +1,74 @@
+package ru.practicum.shareit.perf.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Созданные при заполнении сущности и очередь ожидающих бронирований, которую пополняет
+ * создание бронирований и разбирает их подтверждение.
+ */
+public class SeededData {
+    private static final int FIRST_BOOKING_DAY = 30;
+
+    private final List<Long> ownerIds;
+    private final List<Long> bookerIds;
+    private final List<ItemRef> items = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<WaitingBooking> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bookingSlots = new AtomicLong();
+
+    public SeededData(List<Long> ownerIds, List<Long> bookerIds) {
+        this.ownerIds = List.copyOf(ownerIds);
+        this.bookerIds = List.copyOf(bookerIds);
+    }
+
+    public List<Long> ownerIds() {
+        return ownerIds;
+    }
+
+    public List<Long> bookerIds() {
+        return bookerIds;
+    }
+
+    public List<ItemRef> items() {
+        return items;
+    }
+
+    void addItem(long itemId, long ownerId) {
+        items.add(new ItemRef(itemId, ownerId));
+    }
+
+    void addWaitingBooking(long bookingId, long ownerId) {
+        waitingBookings.add(new WaitingBooking(bookingId, ownerId));
+    }
+
+    WaitingBooking pollWaitingBooking() {
+        return waitingBookings.poll();
+    }
+
+    /**
+     * Каждое новое бронирование занимает свой час в будущем, поэтому подтверждения
+     * не упираются в пересечения периодов.
+     */
+    String newBookingJson(ObjectMapper objectMapper, long itemId, LocalDateTime now) {
+        LocalDateTime start = now.truncatedTo(ChronoUnit.HOURS)
+                .plusDays(FIRST_BOOKING_DAY)
+                .plusHours(bookingSlots.incrementAndGet());
+        return objectMapper.createObjectNode()
+                .put("itemId", itemId)
+                .put("start", start.toString())
+                .put("end", start.plusMinutes(59).toString())
+                .toString();
+    }
+
+    public record ItemRef(long id, long ownerId) {
+    }
+
+    record WaitingBooking(long id, long ownerId) {
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.perf.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Тонкая обёртка над {@link HttpClient} для вызовов REST API от имени пользователя.
+ */
+public class ShareItClient {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    public ShareItClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public HttpResponse<String> send(String method, String path, Long userId, String contentType, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header(USER_HEADER, userId.toString());
+        }
+        if (body != null) {
+            request.header("Content-Type", contentType);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> get(String path, Long userId) throws IOException, InterruptedException {
+        return send("GET", path, userId, null, null);
+    }
+
+    public HttpResponse<String> sendJson(String method, String path, Long userId, String json)
+            throws IOException, InterruptedException {
+        return send(method, path, userId, "application/json", json);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.perf.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Потоки обработки запросов во встроенном приложении: пул платформенных потоков Tomcat
+ * или виртуальный поток на запрос (spring.threads.virtual.enabled).
+ */
+public enum ThreadMode {
+    PLATFORM(false),
+    VIRTUAL(true);
+
+    private final boolean virtual;
+
+    ThreadMode(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public String applicationArgument() {
+        return "--spring.threads.virtual.enabled=" + virtual;
+    }
+
+    /**
+     * Список через запятую, например "platform,virtual" для сравнения режимов в одном прогоне.
+     * Пустая строка оставляет настройку приложения.
+     */
+    public static List<ThreadMode> parseList(String modes) {
+        return Arrays.stream(modes.split(","))
+                .map(String::trim)
+                .filter(mode -> !mode.isEmpty())
+                .map(mode -> Arrays.stream(values())
+                        .filter(value -> value.label().equalsIgnoreCase(mode))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Неизвестный режим потоков: " + mode)))
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.perf.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Профили нагрузки: доли операций в общем потоке запросов.
+ */
+public enum TrafficMix {
+    SEARCH_HEAVY("search-heavy", Map.of(
+            Operation.SEARCH_ITEMS, 70,
+            Operation.GET_ITEM, 20,
+            Operation.OWNER_ITEMS, 5,
+            Operation.GET_USER, 5)),
+    BOOKING_BURST("booking-burst", Map.of(
+            Operation.CREATE_BOOKING, 55,
+            Operation.APPROVE_BOOKING, 20,
+            Operation.BOOKER_BOOKINGS, 15,
+            Operation.GET_ITEM, 10)),
+    OWNER_DASHBOARD("owner-dashboard", Map.of(
+            Operation.OWNER_BOOKINGS, 50,
+            Operation.OWNER_ITEMS, 30,
+            Operation.GET_ITEM, 15,
+            Operation.APPROVE_BOOKING, 5)),
+    MIXED("mixed", Map.of(
+            Operation.SEARCH_ITEMS, 30,
+            Operation.GET_ITEM, 20,
+            Operation.OWNER_BOOKINGS, 15,
+            Operation.OWNER_ITEMS, 10,
+            Operation.BOOKER_BOOKINGS, 10,
+            Operation.CREATE_BOOKING, 10,
+            Operation.APPROVE_BOOKING, 3,
+            Operation.GET_USER, 2));
+
+    private final String label;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficMix(String label, Map<Operation, Integer> weights) {
+        this.label = label;
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static TrafficMix from(String label) {
+        return Arrays.stream(values())
+                .filter(mix -> mix.label.equalsIgnoreCase(label) || mix.name().equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный профиль нагрузки: " + label));
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,201 @@
+package ru.practicum.shareit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingQuery;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Планы запросов, которые приложение отправляет в базу для основных списков: SQL перехватывается
+ * StatementInspector при вызове репозиториев и разбирается через EXPLAIN. Каждый запрос должен
+ * идти по индексу, а не полным просмотром таблицы. Проверяются общие миграции на H2; индексы
+ * и ограничения из db/migration/postgresql здесь не применяются.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        // Подсчёт запросов занимает единственный StatementInspector Hibernate
+        "shareit.metrics.queries.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.QueryPlanTest$CapturingInspector"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final long USER_ID = 1;
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeAll
+    void fillTables() {
+        jdbc.update("insert into users(id, name, email) "
+                + "select \"X\", 'user', 'user' || \"X\" || '@mail.ru' from system_range(1, 200)");
+        jdbc.update("insert into item_requests(id, description, requestor_id, created) "
+                + "select \"X\", 'request', 1 + mod(\"X\", 200), dateadd('MINUTE', \"X\", now()) "
+                + "from system_range(1, 1000)");
+        jdbc.update("insert into items(id, name, description, available, owner_id, request_id) "
+                + "select \"X\", 'item', 'description', true, 1 + mod(\"X\", 200), "
+                + "case when mod(\"X\", 4) = 0 then 1 + mod(\"X\", 1000) end from system_range(1, 2000)");
+        jdbc.update("insert into bookings(id, start_date, end_date, item_id, booker_id, status) "
+                + "select \"X\", dateadd('DAY', \"X\", now()), dateadd('DAY', \"X\" + 1, now()), 1 + mod(\"X\", 2000), "
+                + "1 + mod(\"X\", 200), case mod(\"X\", 3) when 0 then 'WAITING' when 1 then 'APPROVED' "
+                + "else 'REJECTED' end from system_range(1, 20000)");
+        jdbc.update("insert into comments(id, text, item_id, author_id, created) "
+                + "select \"X\", 'comment', 1 + mod(\"X\", 2000), 1 + mod(\"X\", 200), now() "
+                + "from system_range(1, 5000)");
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void bookerBookingsUseIndex() {
+        assertThat(plans(() -> bookingRepository.findBookings(bookingQuery(BookingRole.BOOKER, BookingState.ALL))))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void bookerBookingsByStatusUseCompositeIndex() {
+        assertThat(plans(() -> bookingRepository.findBookings(bookingQuery(BookingRole.BOOKER, BookingState.WAITING))))
+                .allSatisfy(plan -> assertThat(plan).contains("ix_bookings_booker_status_start"));
+    }
+
+    @Test
+    void ownerBookingsUseIndexes() {
+        assertThat(plans(() -> bookingRepository.findBookings(bookingQuery(BookingRole.OWNER, BookingState.ALL))))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void currentApprovedBookingUsesCompositeIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(plans(() -> bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                1L, BookingStatus.APPROVED, now, now)))
+                .allSatisfy(plan -> assertThat(plan).contains("ix_bookings_item_status_start"));
+    }
+
+    @Test
+    void lastAndNextBookingsUseIndex() {
+        assertThat(plans(() -> bookingRepository.findLastAndNextApprovedByItemIds(IDS, LocalDateTime.now())))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void ownerItemsUseIndex() {
+        assertThat(plans(() -> itemRepository.findViewsByOwnerId(USER_ID)))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void itemCommentsUseIndex() {
+        assertThat(plans(() -> commentRepository.findByItemIdsOrderByCreatedDesc(IDS)))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void ownerCommentsUseIndexes() {
+        assertThat(plans(() -> commentRepository.findByItemOwnerIdOrderByCreatedDesc(USER_ID)))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void requestorRequestsUseIndex() {
+        assertThat(plans(() -> itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(
+                USER_ID, PageRequest.of(0, 10))))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    @Test
+    void requestItemsUseIndex() {
+        assertThat(plans(() -> itemRepository.findViewsByRequestIdIn(IDS)))
+                .allSatisfy(plan -> assertThat(plan).doesNotContain(TABLE_SCAN));
+    }
+
+    private static BookingQuery bookingQuery(BookingRole role, BookingState state) {
+        return new BookingQuery(role, USER_ID, state, LocalDateTime.now(), null, 0, 11);
+    }
+
+    /**
+     * Выполняет вызов репозитория и возвращает планы всех отправленных им запросов.
+     */
+    private List<String> plans(Runnable repositoryCall) {
+        CapturingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        List<String> statements = List.copyOf(CapturingInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+        return statements.stream().map(this::plan).toList();
+    }
+
+    /**
+     * Значения параметров подставляются по их типу: на выбор индекса H2 они не влияют.
+     */
+    private String plan(String sql) {
+        return jdbc.execute("explain " + sql, (PreparedStatement statement) -> {
+            ParameterMetaData parameters = statement.getParameterMetaData();
+            for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                statement.setObject(i, sampleValue(parameters.getParameterType(i)));
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private static Object sampleValue(int sqlType) throws SQLException {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT -> 1L;
+            case Types.VARCHAR, Types.CHAR -> BookingStatus.APPROVED.name();
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> Timestamp.valueOf(LocalDateTime.now());
+            case Types.BOOLEAN -> true;
+            default -> throw new SQLException("Нет тестового значения для параметра типа " + sqlType);
+        };
+    }
+
+    /**
+     * Запоминает текст каждого SQL-запроса. Hibernate создаёт экземпляр по имени класса.
+     */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Число SQL-запросов на списки бронирований и загрузку отзывов не зависит от числа строк:
+ * бронирователь и вещь подгружаются вместе с бронированием, отзывы — одним запросом на страницу.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false"
+})
+@AutoConfigureMockMvc
+class BookingStatementCountTest {
+    private static final long OWNER_ID = 1;
+    private static final int BOOKERS = 10;
+    private static final int ITEMS = 20;
+    private static final int BOOKINGS = 200;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("delete from comments");
+        jdbc.update("delete from bookings");
+        jdbc.update("delete from items");
+        jdbc.update("delete from users");
+        jdbc.update("insert into users(id, name, email) values (?, 'owner', 'owner@mail.ru')", OWNER_ID);
+        for (long booker = 2; booker < 2 + BOOKERS; booker++) {
+            jdbc.update("insert into users(id, name, email) values (?, 'booker', ?)", booker, "booker" + booker + "@mail.ru");
+        }
+        for (long item = 1; item <= ITEMS; item++) {
+            jdbc.update("insert into items(id, name, description, available, owner_id) values (?, 'drill', 'd', true, ?)",
+                    item, OWNER_ID);
+            jdbc.update("insert into comments(text, item_id, author_id, created) values ('ok', ?, ?, now())",
+                    item, 2 + item % BOOKERS);
+        }
+        for (int booking = 0; booking < BOOKINGS; booking++) {
+            jdbc.update("insert into bookings(id, start_date, end_date, item_id, booker_id, status) "
+                            + "values (?, now(), now(), ?, ?, 'APPROVED')",
+                    booking + 1, 1 + booking % ITEMS, 2 + booking % BOOKERS);
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void ownerBookingListUsesFixedNumberOfStatements() throws Exception {
+        // пользователь, бронирования с вещами и бронирователями, отзывы по вещам страницы
+        assertThat(countStatements("/bookings/owner?size=" + BOOKINGS, OWNER_ID)).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void bookerBookingListUsesFixedNumberOfStatements() throws Exception {
+        assertThat(countStatements("/bookings", 2)).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void ownerItemsLoadCommentsWithOneStatement() throws Exception {
+        // пользователь, вещи, последние и следующие бронирования, отзывы
+        assertThat(countStatements("/items", OWNER_ID)).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void itemCommentsAreLoadedWithAuthorsInOneStatement() throws Exception {
+        assertThat(countStatements("/items/1", OWNER_ID)).isLessThanOrEqualTo(4);
+    }
+
+    private long countStatements(String path, long userId) throws Exception {
+        statistics.clear();
+        mvc.perform(get(path).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Строгий режим бюджета SQL-запросов из профиля test: запрос сверх бюджета завершается ошибкой.
+ * Бюджет списка вещей владельца занижен, остальные берутся из application.properties.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "shareit.metrics.queries.budgets[GET\\ /items]=1"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class QueryBudgetStrictModeTest {
+    private static final long OWNER_ID = 1;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("delete from items");
+        jdbc.update("delete from users");
+        jdbc.update("insert into users(id, name, email) values (?, 'owner', 'owner@mail.ru')", OWNER_ID);
+        jdbc.update("insert into items(id, name, description, available, owner_id) values (1, 'drill', 'd', true, ?)",
+                OWNER_ID);
+    }
+
+    @Test
+    void testProfileEnablesStrictMode() {
+        assertThat(properties.strict()).isTrue();
+    }
+
+    @Test
+    void listOverBudgetFails() throws Exception {
+        MvcResult result = mvc.perform(get("/items").header("X-Sharer-User-Id", OWNER_ID))
+                .andExpect(status().isInternalServerError())
+                .andReturn();
+        assertThat(result.getResolvedException())
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("GET /items");
+    }
+
+    @Test
+    void listWithinBudgetSucceeds() throws Exception {
+        mvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", OWNER_ID))
+                .andExpect(status().isOk());
+    }
+}